@@ -0,0 +1,89 @@
+package com.example.withdogandcat.domain.chat.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방 메세지 발행 시 구독자 조회 : RoomSubscriptionRegistry vs DefaultSubscriptionRegistry
+ * 전체 구독 subscriptions 개를 rooms 개 채팅방에 나눠 등록하고 채팅방을 돌아가며 조회한다
+ * DefaultSubscriptionRegistry 는 destination 캐시(기본 1024개)를 넘는 채팅방이 번갈아 조회되면 전체 구독을 다시 훑는다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoomSubscriptionRegistryBenchmark {
+
+    private static final int SUBSCRIPTIONS_PER_SESSION = 5;
+
+    @Param("10000")
+    public int subscriptions;
+
+    @Param({"100", "2000"})
+    public int rooms;
+
+    private SubscriptionRegistry defaultRegistry;
+    private SubscriptionRegistry roomRegistry;
+    private Message<?>[] lookups;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        defaultRegistry = new DefaultSubscriptionRegistry();
+        roomRegistry = new RoomSubscriptionRegistry(new DefaultSubscriptionRegistry());
+
+        for (int i = 0; i < subscriptions; i++) {
+            Message<byte[]> message = subscribe("session-" + i / SUBSCRIPTIONS_PER_SESSION,
+                    String.valueOf(i % SUBSCRIPTIONS_PER_SESSION), room(i % rooms));
+            defaultRegistry.registerSubscription(message);
+            roomRegistry.registerSubscription(message);
+        }
+
+        lookups = new Message<?>[rooms];
+        for (int i = 0; i < rooms; i++) {
+            lookups[i] = send(room(i));
+        }
+    }
+
+    @Benchmark
+    public MultiValueMap<String, String> defaultRegistry() {
+        return defaultRegistry.findSubscriptions(nextLookup());
+    }
+
+    @Benchmark
+    public MultiValueMap<String, String> roomRegistry() {
+        return roomRegistry.findSubscriptions(nextLookup());
+    }
+
+    private Message<?> nextLookup() {
+        Message<?> message = lookups[next];
+        next = next + 1 < lookups.length ? next + 1 : 0;
+        return message;
+    }
+
+    private static String room(int index) {
+        return RoomSubscriptionTracker.ROOM_DESTINATION_PREFIX + "room-" + index;
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> send(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+}
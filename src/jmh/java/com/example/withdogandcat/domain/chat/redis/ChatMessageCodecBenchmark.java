@@ -0,0 +1,91 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatMessageCodec 바이너리 포맷 vs 이전 Jackson JSON 포맷 직렬화/역직렬화
+ * 처리량(ops/us)과 함께 처리한 바이트 수(bytes 보조 카운터, bytes/us)를 출력한다
+ * 메세지 한 건의 크기는 bytes / ops 로 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatMessageCodecBenchmark {
+
+    @Param({"20", "500"})
+    public int messageLength;
+
+    private ObjectMapper objectMapper;
+    private ChatMessageCodec chatMessageCodec;
+    private ChatMessage chatMessage;
+    private byte[] codecBytes;
+    private byte[] jsonBytes;
+
+    /**
+     * 스레드별 처리 바이트 수 (JMH 가 OutputTimeUnit 당 값으로 합산해서 출력)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        chatMessageCodec = new ChatMessageCodec(objectMapper);
+
+        chatMessage = new ChatMessage();
+        chatMessage.setId(1_234_567_890_123L);
+        chatMessage.setSeq(4_321L);
+        chatMessage.setType(MessageType.TALK);
+        chatMessage.setRoomId("0f8fad5b-d9cb-469f-a165-70867728950e");
+        chatMessage.setSender("bench@example.com");
+        chatMessage.setMessage("멍".repeat(messageLength));
+        chatMessage.setSentAt("2024-01-01T10:00:00");
+        chatMessage.setOriginNodeId("node-1");
+
+        codecBytes = chatMessageCodec.serialize(chatMessage);
+        jsonBytes = objectMapper.writeValueAsBytes(chatMessage);
+    }
+
+    @Benchmark
+    public byte[] codecSerialize(Bytes counter) {
+        byte[] bytes = chatMessageCodec.serialize(chatMessage);
+        counter.bytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] jacksonSerialize(Bytes counter) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(chatMessage);
+        counter.bytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public ChatMessage codecDeserialize(Bytes counter) {
+        counter.bytes += codecBytes.length;
+        return chatMessageCodec.deserialize(codecBytes);
+    }
+
+    @Benchmark
+    public ChatMessage jacksonDeserialize(Bytes counter) throws IOException {
+        counter.bytes += jsonBytes.length;
+        return objectMapper.readValue(jsonBytes, ChatMessage.class);
+    }
+
+}
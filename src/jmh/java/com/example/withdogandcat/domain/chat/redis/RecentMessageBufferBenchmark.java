@@ -0,0 +1,103 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 최근 메세지 버퍼 추가 : Lua 스크립트 한 번(EVALSHA) vs INCR + RPUSH + LTRIM 세 번 호출
+ * 실제 Redis 왕복 비용을 재야 하므로 redisHost:redisPort 의 Redis 가 필요하다
+ * 순번 카운터는 미리 만들어 두어서 reseed(MySQL 조회)는 타지 않는다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RecentMessageBufferBenchmark {
+
+    private static final String ROOM = "jmh-room";
+    private static final int CAPACITY = 20;
+
+    @Param("localhost")
+    public String redisHost;
+
+    @Param("6379")
+    public int redisPort;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate stringRedisTemplate;
+    private RedisTemplate<String, ChatMessage> chatMessageRedisTemplate;
+    private RecentMessageBuffer recentMessageBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connectionFactory = new LettuceConnectionFactory(redisHost, redisPort);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+
+        ChatMessageCodec chatMessageCodec = new ChatMessageCodec(new ObjectMapper());
+        chatMessageRedisTemplate = new RedisTemplate<>();
+        chatMessageRedisTemplate.setConnectionFactory(connectionFactory);
+        chatMessageRedisTemplate.setKeySerializer(new StringRedisSerializer());
+        chatMessageRedisTemplate.setValueSerializer(chatMessageCodec);
+        chatMessageRedisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        chatMessageRedisTemplate.setHashValueSerializer(chatMessageCodec);
+        chatMessageRedisTemplate.afterPropertiesSet();
+
+        recentMessageBuffer = new RecentMessageBuffer(
+                chatMessageCodec, new ChatRoomSequence(null, stringRedisTemplate), chatMessageRedisTemplate);
+        ReflectionTestUtils.setField(recentMessageBuffer, "capacity", CAPACITY);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetRoom() {
+        recentMessageBuffer.delete(List.of(ROOM));
+        stringRedisTemplate.opsForValue().set(RecentMessageBuffer.seqKey(ROOM), "0");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        recentMessageBuffer.delete(List.of(ROOM));
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public Long scriptedAppend() {
+        return recentMessageBuffer.append(ROOM, message());
+    }
+
+    /**
+     * 스크립트 도입 전과 같은 방식 : 순번 발급, 추가, 잘라내기를 각각 왕복
+     */
+    @Benchmark
+    public Long threeCallAppend() {
+        ChatMessage chatMessage = message();
+        Long seq = stringRedisTemplate.opsForValue().increment(RecentMessageBuffer.seqKey(ROOM));
+        chatMessage.setSeq(seq);
+        chatMessageRedisTemplate.opsForList().rightPush(RecentMessageBuffer.key(ROOM), chatMessage);
+        chatMessageRedisTemplate.opsForList().trim(RecentMessageBuffer.key(ROOM), -CAPACITY, -1);
+        return seq;
+    }
+
+    private static ChatMessage message() {
+        ChatMessage chatMessage = new ChatMessage();
+        chatMessage.setId(1L);
+        chatMessage.setType(MessageType.TALK);
+        chatMessage.setRoomId(ROOM);
+        chatMessage.setSender("bench@example.com");
+        chatMessage.setMessage("안녕하세요, 산책 같이 하실 분 있나요?");
+        chatMessage.setSentAt("2024-01-01T10:00:00");
+        return chatMessage;
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import com.example.withdogandcat.domain.chat.config.RoomSubscriptionTracker;
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 붐비는 채팅방 한 곳에 메세지를 계속 보낼 때 프레임 묶기(chat.coalesce.enabled) 사용 여부 비교
+ * 로컬 구독자가 있는 채팅방으로 LocalRoomBroadcaster.deliver 를 호출한다
+ * 처리량(메세지/초)과 함께 실제로 전달된 프레임 수(frames 보조 카운터, 프레임/초)를 출력한다
+ * 프레임마다 드는 비용은 SimpMessagingTemplate 의 JSON 변환까지만 포함 (브로커 fan-out 과 STOMP 인코딩 제외)
+ * CPU 비교는 -prof gc, -prof stack 등 프로파일러와 함께 실행 (묶음 flush 는 chat-coalesce 스레드에서도 실행된다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RoomFrameCoalescerBenchmark {
+
+    private static final String ROOM = "jmh";
+
+    @Param({"false", "true"})
+    public boolean coalesce;
+
+    private final AtomicLong sentFrames = new AtomicLong();
+    private RoomFrameCoalescer coalescer;
+    private LocalRoomBroadcaster localRoomBroadcaster;
+
+    /**
+     * 반복(iteration)마다 전달된 프레임 수 (전달은 다른 스레드에서도 일어나므로 반복이 끝날 때 옮겨 담는다)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Frames {
+
+        public long frames;
+
+        @Setup(Level.Iteration)
+        public void reset(RoomFrameCoalescerBenchmark benchmark) {
+            benchmark.sentFrames.set(0);
+            frames = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void collect(RoomFrameCoalescerBenchmark benchmark) {
+            frames = benchmark.sentFrames.get();
+        }
+
+    }
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> {
+            sentFrames.incrementAndGet();
+            return true;
+        });
+        messagingTemplate.setMessageConverter(new MappingJackson2MessageConverter());
+
+        coalescer = new RoomFrameCoalescer(new SimpleMeterRegistry(), messagingTemplate);
+        ReflectionTestUtils.setField(coalescer, "enabled", coalesce);
+        ReflectionTestUtils.setField(coalescer, "minRatePerSecond", 20.0);
+        ReflectionTestUtils.setField(coalescer, "targetBatch", 10);
+        ReflectionTestUtils.setField(coalescer, "maxBatch", 50);
+        ReflectionTestUtils.setField(coalescer, "minWindowMs", 5L);
+        ReflectionTestUtils.setField(coalescer, "maxWindowMs", 50L);
+        ReflectionTestUtils.invokeMethod(coalescer, "init");
+
+        RoomSubscriptionTracker roomSubscriptionTracker = new RoomSubscriptionTracker();
+        Map<String, Integer> roomSubscriberCounts =
+                (Map<String, Integer>) ReflectionTestUtils.getField(roomSubscriptionTracker, "roomSubscriberCounts");
+        roomSubscriberCounts.put(ROOM, 1);
+
+        localRoomBroadcaster = new LocalRoomBroadcaster(messagingTemplate, coalescer, roomSubscriptionTracker);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(coalescer, "shutdown");
+    }
+
+    @Benchmark
+    public void deliver(Frames frames) {
+        localRoomBroadcaster.deliver(message());
+    }
+
+    private static ChatMessage message() {
+        ChatMessage chatMessage = new ChatMessage();
+        chatMessage.setId(1L);
+        chatMessage.setSeq(1L);
+        chatMessage.setType(MessageType.TALK);
+        chatMessage.setRoomId(ROOM);
+        chatMessage.setSender("bench@example.com");
+        chatMessage.setMessage("안녕하세요, 산책 같이 하실 분 있나요?");
+        chatMessage.setSentAt("2024-01-01T10:00:00");
+        return chatMessage;
+    }
+
+}
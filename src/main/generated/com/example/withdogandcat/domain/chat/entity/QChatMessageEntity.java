@@ -35,6 +35,8 @@ public class QChatMessageEntity extends EntityPathBase<ChatMessageEntity> {
 
     public final com.example.withdogandcat.domain.user.entity.QUser sender;
 
+    public final NumberPath<Long> seq = createNumber("seq", Long.class);
+
     public final EnumPath<MessageType> type = createEnum("type", MessageType.class);
 
     public QChatMessageEntity(String variable) {
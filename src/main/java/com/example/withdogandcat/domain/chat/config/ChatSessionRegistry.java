@@ -0,0 +1,104 @@
+package com.example.withdogandcat.domain.chat.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class ChatSessionRegistry {
+
+    /**
+     * 이 노드에 연결된 웹소켓 세션 관리
+     * 로그아웃 등으로 토큰이 폐기되거나 재발급되면 이전 토큰으로 연결된 로컬 세션을 바로 끊는다
+     */
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, String> sessionUsers = new ConcurrentHashMap<>();
+    private final Map<String, String> sessionJtis = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> userSessions = new ConcurrentHashMap<>();
+    private final Set<String> revokedSessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 웹소켓 핸들러를 감싸서 세션 연결/종료를 기록
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                unregister(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public void bindUser(String sessionId, String userEmail, String jti) {
+        sessionUsers.put(sessionId, userEmail);
+        if (jti != null) {
+            sessionJtis.put(sessionId, jti);
+        }
+        userSessions.computeIfAbsent(userEmail, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+    }
+
+    public boolean isRevoked(String sessionId) {
+        return revokedSessions.contains(sessionId);
+    }
+
+    /**
+     * 사용자의 로컬 세션 중 currentJti 가 아닌 토큰으로 연결된 세션을 폐기하고 연결 종료
+     * currentJti 가 null 이면 (로그아웃) 모두 폐기
+     */
+    public void revokeUser(String userEmail, String currentJti) {
+        Set<String> sessionIds = userSessions.get(userEmail);
+        if (sessionIds == null) {
+            return;
+        }
+
+        for (String sessionId : sessionIds) {
+            if (currentJti != null && currentJti.equals(sessionJtis.get(sessionId))) {
+                continue;
+            }
+            revokedSessions.add(sessionId);
+
+            WebSocketSession session = sessions.get(sessionId);
+            if (session == null || !session.isOpen()) {
+                continue;
+            }
+
+            try {
+                session.close(CloseStatus.POLICY_VIOLATION);
+            } catch (IOException e) {
+                log.error("웹소켓 세션 종료 오류: {}", sessionId, e);
+            }
+        }
+    }
+
+    private void unregister(String sessionId) {
+        sessions.remove(sessionId);
+        sessionJtis.remove(sessionId);
+        revokedSessions.remove(sessionId);
+
+        String userEmail = sessionUsers.remove(sessionId);
+        if (userEmail != null) {
+            userSessions.computeIfPresent(userEmail, (k, ids) -> {
+                ids.remove(sessionId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.example.withdogandcat.domain.chat.config;
 
+import com.example.withdogandcat.global.common.SessionKeys;
 import com.example.withdogandcat.global.exception.BaseException;
 import com.example.withdogandcat.global.security.jwt.JwtUtil;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
@@ -22,10 +24,13 @@ import java.util.concurrent.TimeUnit;
 public class FilterChannelInterceptor implements ChannelInterceptor {
 
     private final JwtUtil jwtUtil;
+    private final ChatSessionRegistry chatSessionRegistry;
     private final RedisTemplate<String, String> redisTemplate;
 
     /**
      * Websocket으로 들어오는 요청을 가져와서 먼저 검증
+     * 토큰 검증은 CONNECT 때 한 번만 하고 결과를 세션 사용자(Principal)로 묶어둔다
+     * 이후 토큰이 폐기/재발급되면 SessionRevocationListener 가 세션을 폐기하고, 폐기된 세션의 SEND/SUBSCRIBE 는 버린다
      */
 
     @Override
@@ -40,16 +45,24 @@ public class FilterChannelInterceptor implements ChannelInterceptor {
             if (token != null) {
                 try {
                     if (jwtUtil.validateToken(token, false)) {
-                        String userEmail = jwtUtil.getUserEmailFromToken(token);
+                        Claims claims = jwtUtil.getUserInfoFromToken(token);
+                        String userEmail = claims.getSubject();
                         String storedActiveSession = redisTemplate.opsForValue().get("active_session:" + userEmail);
 
                         if (storedActiveSession != null && !storedActiveSession.equals(headerAccessor.getSessionId())) {
-                            throw new IllegalStateException("중복접속으로 새로운 세션으로 업데이트");
+                            log.info("중복접속으로 새로운 세션으로 업데이트: {}", userEmail);
                         }
-                        redisTemplate.opsForValue().set("session:userEmail:" + headerAccessor.getSessionId(), userEmail, 24, TimeUnit.HOURS);
+                        redisTemplate.opsForValue().set(SessionKeys.SESSION_USER_KEY_PREFIX + headerAccessor.getSessionId(), userEmail, 24, TimeUnit.HOURS);
 
+                        // 로그아웃 시 KEYS 스캔 없이 해당 사용자 세션만 지우기 위한 역인덱스
+                        String userSessionsKey = SessionKeys.USER_SESSIONS_KEY_PREFIX + userEmail;
+                        redisTemplate.opsForSet().add(userSessionsKey, headerAccessor.getSessionId());
+                        redisTemplate.expire(userSessionsKey, 24, TimeUnit.HOURS);
 
                         headerAccessor.addNativeHeader("User", userEmail);
+                        StompPrincipal principal = new StompPrincipal(userEmail, claims.getId(), claims.getExpiration().getTime());
+                        headerAccessor.setUser(principal);
+                        chatSessionRegistry.bindUser(headerAccessor.getSessionId(), userEmail, principal.getJti());
                     }
 
                 } catch (BaseException e) {
@@ -57,6 +70,10 @@ public class FilterChannelInterceptor implements ChannelInterceptor {
                     return null;
                 }
             }
+
+        } else if ((headerAccessor.getCommand() == StompCommand.SEND || headerAccessor.getCommand() == StompCommand.SUBSCRIBE)
+                && chatSessionRegistry.isRevoked(headerAccessor.getSessionId())) {
+            return null;
         }
 
         return message;
@@ -0,0 +1,155 @@
+package com.example.withdogandcat.domain.chat.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboundBackpressureDecoratorFactory implements WebSocketHandlerDecoratorFactory {
+
+    /**
+     * 세션별 송신 버퍼/시간 한도와 느린 클라이언트 처리 정책(chat.ws.slow-consumer-policy) 적용
+     * 느린 세션 하나가 아웃바운드 스레드를 붙잡거나 메모리를 무한히 늘리지 못하도록 한다
+     */
+
+    private final MeterRegistry meterRegistry;
+
+    @Getter
+    @Value("${chat.ws.send-time-limit-ms:10000}")
+    private int sendTimeLimit;
+
+    @Getter
+    @Value("${chat.ws.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${chat.ws.slow-consumer-policy:DROP_OLDEST}")
+    private SlowConsumerPolicy policy;
+
+    @Value("${chat.ws.send-pool-size:8}")
+    private int sendPoolSize;
+
+    private final Map<String, SlowConsumerSessionDecorator> sessions = new ConcurrentHashMap<>();
+    private final Listener listener = new Listener();
+
+    private ThreadPoolTaskExecutor sendExecutor;
+    private DistributionSummary queueDepthSummary;
+    private DistributionSummary sessionQueueDepthSummary;
+    private DistributionSummary droppedPerSessionSummary;
+
+    @PostConstruct
+    private void init() {
+        sendExecutor = new ThreadPoolTaskExecutor();
+        sendExecutor.setCorePoolSize(sendPoolSize);
+        sendExecutor.setMaxPoolSize(sendPoolSize);
+        sendExecutor.setThreadNamePrefix("ws-send-");
+        sendExecutor.initialize();
+
+        meterRegistry.gauge("chat.ws.outbound.sessions", sessions, Map::size);
+        meterRegistry.gauge("chat.ws.outbound.buffered.bytes", sessions, map -> map.values().stream()
+                .mapToLong(SlowConsumerSessionDecorator::getBufferSize)
+                .sum());
+        meterRegistry.gauge("chat.ws.outbound.session.queue.depth.max", sessions, map -> map.values().stream()
+                .mapToInt(SlowConsumerSessionDecorator::getBufferedFrames)
+                .max()
+                .orElse(0));
+        queueDepthSummary = meterRegistry.summary("chat.ws.outbound.queue.depth");
+        sessionQueueDepthSummary = meterRegistry.summary("chat.ws.outbound.session.queue.depth");
+        droppedPerSessionSummary = meterRegistry.summary("chat.ws.outbound.dropped.per-session");
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                SlowConsumerSessionDecorator decorated = new SlowConsumerSessionDecorator(
+                        session, sendExecutor, policy, sendTimeLimit, sendBufferSizeLimit, listener);
+                sessions.put(session.getId(), decorated);
+                super.afterConnectionEstablished(decorated);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                SlowConsumerSessionDecorator decorated = sessions.remove(session.getId());
+                if (decorated != null) {
+                    decorated.release();
+                    int dropped = decorated.getDroppedFrames();
+                    droppedPerSessionSummary.record(dropped);
+                    if (dropped > 0) {
+                        log.info("웹소켓 세션 종료, 누락 프레임 {}건: {}", dropped, session.getId());
+                    }
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 전송 하나가 시간 한도를 넘긴 세션을 종료해서 송신 스레드를 돌려받는다
+     * 막힌 세션에 새 프레임이 들어오지 않아도 한도를 지키도록 enqueue 시점 검사와 별도로 주기적으로 확인
+     */
+    @Scheduled(fixedDelayString = "${chat.ws.send-watchdog-ms:1000}")
+    public void enforceSendTimeLimit() {
+        sessions.values().forEach(SlowConsumerSessionDecorator::checkSendTimeLimit);
+    }
+
+    /**
+     * 세션별 현재 버퍼 프레임 수를 주기적으로 기록 (세션 id 를 태그로 쓰지 않고 분포로 남긴다)
+     */
+    @Scheduled(fixedDelayString = "${chat.ws.queue-depth-sample-ms:10000}")
+    public void sampleQueueDepths() {
+        getQueueDepths().values().forEach(sessionQueueDepthSummary::record);
+    }
+
+    /**
+     * 세션별 현재 버퍼 프레임 수
+     */
+    public Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> depths = new ConcurrentHashMap<>();
+        sessions.forEach((sessionId, session) -> depths.put(sessionId, session.getBufferedFrames()));
+        return depths;
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        sendExecutor.shutdown();
+    }
+
+    /**
+     * 세션 데코레이터에서 발생한 이벤트를 메트릭으로 기록
+     */
+    public class Listener {
+
+        void onEnqueued(int depth) {
+            queueDepthSummary.record(depth);
+        }
+
+        void onDropped(SlowConsumerPolicy policy) {
+            meterRegistry.counter("chat.ws.outbound.dropped", "policy", policy.name()).increment();
+        }
+
+        void onTerminated(String reason) {
+            meterRegistry.counter("chat.ws.outbound.terminated", "reason", reason).increment();
+        }
+
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.example.withdogandcat.domain.chat.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RoomSubscriptionRegistry implements SubscriptionRegistry {
+
+    /**
+     * simple broker 구독 저장소
+     * /sub/chat/room/{roomId} 처럼 패턴이 아닌 채팅방 destination 은 해시 인덱스(destination -> 세션/구독 id)로 관리해서
+     * 전체 구독 수와 관계없이 채팅방 하나만 조회한다
+     * 인덱스는 채팅방 단위 copy-on-write 라 조회는 잠금 없이 스냅샷을 읽는다
+     * 그 외 destination, 패턴/selector 구독은 기존 DefaultSubscriptionRegistry 에 맡긴다
+     * 패턴 판별과 selector 헤더 이름은 delegate 설정을 그대로 따른다
+     */
+
+    private final SubscriptionRegistry delegate;
+    private final PathMatcher pathMatcher;
+    private final String selectorHeaderName;
+
+    private final Map<String, LinkedMultiValueMap<String, String>> roomIndex = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> sessionRoomSubscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger delegatedRoomMatchCount = new AtomicInteger();
+    private final Map<String, Map<String, Boolean>> delegatedSubscriptions = new ConcurrentHashMap<>();
+
+    public RoomSubscriptionRegistry(DefaultSubscriptionRegistry delegate) {
+        this.delegate = delegate;
+        this.pathMatcher = delegate.getPathMatcher();
+        this.selectorHeaderName = delegate.getSelectorHeaderName();
+    }
+
+    @Override
+    public void registerSubscription(Message<?> message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        String destination = accessor.getDestination();
+
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            delegate.registerSubscription(message);
+            return;
+        }
+
+        if (isIndexable(destination)
+                && (selectorHeaderName == null || accessor.getFirstNativeHeader(selectorHeaderName) == null)) {
+            sessionRoomSubscriptions.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>())
+                    .put(subscriptionId, destination);
+            roomIndex.compute(destination, (key, current) -> {
+                LinkedMultiValueMap<String, String> copy = current != null ? current.deepCopy() : new LinkedMultiValueMap<>();
+                copy.add(sessionId, subscriptionId);
+                return copy;
+            });
+            return;
+        }
+
+        // 패턴 구독과 selector 가 붙은 채팅방 구독은 채팅방 destination 조회 때 delegate 도 함께 봐야 한다
+        boolean matchesRooms = pathMatcher.isPattern(destination) || isIndexable(destination);
+        delegatedSubscriptions.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>()).put(subscriptionId, matchesRooms);
+        if (matchesRooms) {
+            delegatedRoomMatchCount.incrementAndGet();
+        }
+        delegate.registerSubscription(message);
+    }
+
+    @Override
+    public void unregisterSubscription(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        if (sessionId == null || subscriptionId == null) {
+            delegate.unregisterSubscription(message);
+            return;
+        }
+
+        Map<String, String> roomSubscriptions = sessionRoomSubscriptions.get(sessionId);
+        String destination = roomSubscriptions != null ? roomSubscriptions.remove(subscriptionId) : null;
+        if (destination != null) {
+            removeFromIndex(destination, sessionId, subscriptionId);
+            return;
+        }
+
+        Map<String, Boolean> delegated = delegatedSubscriptions.get(sessionId);
+        Boolean matchesRooms = delegated != null ? delegated.remove(subscriptionId) : null;
+        if (Boolean.TRUE.equals(matchesRooms)) {
+            delegatedRoomMatchCount.decrementAndGet();
+        }
+        delegate.unregisterSubscription(message);
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, String> roomSubscriptions = sessionRoomSubscriptions.remove(sessionId);
+        if (roomSubscriptions != null) {
+            roomSubscriptions.forEach((subscriptionId, destination) ->
+                    removeFromIndex(destination, sessionId, subscriptionId));
+        }
+
+        Map<String, Boolean> delegated = delegatedSubscriptions.remove(sessionId);
+        if (delegated != null) {
+            delegated.values().stream()
+                    .filter(Boolean::booleanValue)
+                    .forEach(matchesRooms -> delegatedRoomMatchCount.decrementAndGet());
+        }
+        delegate.unregisterAllSubscriptions(sessionId);
+    }
+
+    @Override
+    public MultiValueMap<String, String> findSubscriptions(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !isIndexable(destination)) {
+            return delegate.findSubscriptions(message);
+        }
+
+        LinkedMultiValueMap<String, String> exact = roomIndex.get(destination);
+        if (delegatedRoomMatchCount.get() == 0) {
+            return exact != null ? CollectionUtils.unmodifiableMultiValueMap(exact) : new LinkedMultiValueMap<>();
+        }
+
+        // 패턴/selector 구독이 있으면 채팅방 destination 에도 걸릴 수 있으므로 합쳐서 반환
+        MultiValueMap<String, String> merged = new LinkedMultiValueMap<>();
+        delegate.findSubscriptions(message).forEach(merged::addAll);
+        if (exact != null) {
+            exact.forEach((sessionId, subscriptionIds) -> merged.addAll(sessionId, subscriptionIds));
+        }
+        return merged;
+    }
+
+    private boolean isIndexable(String destination) {
+        return destination.startsWith(RoomSubscriptionTracker.ROOM_DESTINATION_PREFIX) && !pathMatcher.isPattern(destination);
+    }
+
+    private void removeFromIndex(String destination, String sessionId, String subscriptionId) {
+        roomIndex.computeIfPresent(destination, (key, current) -> {
+            LinkedMultiValueMap<String, String> copy = current.deepCopy();
+            List<String> subscriptionIds = copy.get(sessionId);
+            if (subscriptionIds != null) {
+                subscriptionIds.remove(subscriptionId);
+                if (subscriptionIds.isEmpty()) {
+                    copy.remove(sessionId);
+                }
+            }
+            return copy.isEmpty() ? null : copy;
+        });
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.withdogandcat.domain.chat.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class RoomSubscriptionRegistryInstaller implements BeanPostProcessor {
+
+    /**
+     * simple broker 의 구독 저장소를 RoomSubscriptionRegistry 로 교체
+     * (MessageBrokerRegistry 에는 구독 저장소를 지정하는 설정이 없다)
+     * broker 설정(path matcher, cache limit, selector 헤더)은 handler 가 기존 저장소에 적용해 두었으므로 그대로 옮긴다
+     */
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof SimpleBrokerMessageHandler brokerMessageHandler) {
+            if (!(brokerMessageHandler.getSubscriptionRegistry() instanceof DefaultSubscriptionRegistry configured)) {
+                log.warn("simple broker 구독 저장소가 이미 교체되어 있어 RoomSubscriptionRegistry 적용 생략: {}", beanName);
+                return bean;
+            }
+            brokerMessageHandler.setSubscriptionRegistry(new RoomSubscriptionRegistry(copyOf(configured)));
+        }
+        return bean;
+    }
+
+    static DefaultSubscriptionRegistry copyOf(DefaultSubscriptionRegistry configured) {
+        DefaultSubscriptionRegistry delegate = new DefaultSubscriptionRegistry();
+        delegate.setPathMatcher(configured.getPathMatcher());
+        delegate.setCacheLimit(configured.getCacheLimit());
+        delegate.setSelectorHeaderName(configured.getSelectorHeaderName());
+        return delegate;
+    }
+
+}
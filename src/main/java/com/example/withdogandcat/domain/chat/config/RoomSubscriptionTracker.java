@@ -0,0 +1,90 @@
+package com.example.withdogandcat.domain.chat.config;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class RoomSubscriptionTracker {
+
+    /**
+     * 이 노드에 붙어있는 STOMP 세션의 채팅방 구독 현황
+     * Redis 패턴 구독으로 받은 메세지를 로컬 구독자가 있는 채팅방에만 전달하기 위해 사용
+     */
+
+    public static final String ROOM_DESTINATION_PREFIX = "/sub/chat/room/";
+
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> roomSubscriberCounts = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
+        String roomId = extractRoomId(headerAccessor.getDestination());
+        if (roomId == null || headerAccessor.getSessionId() == null || headerAccessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        Map<String, String> subscriptions = sessionSubscriptions
+                .computeIfAbsent(headerAccessor.getSessionId(), k -> new ConcurrentHashMap<>());
+        if (subscriptions.put(headerAccessor.getSubscriptionId(), roomId) == null) {
+            roomSubscriberCounts.merge(roomId, 1, Integer::sum);
+        }
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = sessionSubscriptions.get(headerAccessor.getSessionId());
+        if (subscriptions == null || headerAccessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        String roomId = subscriptions.remove(headerAccessor.getSubscriptionId());
+        if (roomId != null) {
+            decrement(roomId);
+        }
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    public boolean hasLocalSubscribers(String roomId) {
+        return roomSubscriberCounts.containsKey(roomId);
+    }
+
+    public Set<String> getLocalRoomIds() {
+        return roomSubscriberCounts.keySet();
+    }
+
+    private void decrement(String roomId) {
+        roomSubscriberCounts.computeIfPresent(roomId, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * /sub/chat/room/{roomId}[/...] 에서 roomId 추출
+     */
+    private String extractRoomId(String destination) {
+        if (destination == null || !destination.startsWith(ROOM_DESTINATION_PREFIX)) {
+            return null;
+        }
+
+        String rest = destination.substring(ROOM_DESTINATION_PREFIX.length());
+        int slash = rest.indexOf('/');
+        String roomId = slash >= 0 ? rest.substring(0, slash) : rest;
+        return roomId.isEmpty() ? null : roomId;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.example.withdogandcat.domain.chat.config;
+
+import com.example.withdogandcat.global.security.jwt.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@RequiredArgsConstructor
+public class SessionRevocationListener implements MessageListener {
+
+    private final ChatSessionRegistry chatSessionRegistry;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 토큰 폐기/재발급 알림(사용자 이메일)을 받으면 이 노드에 있는 해당 사용자 세션 중
+     * 현재 access jti 와 다른 토큰으로 연결된 세션을 종료 (로그아웃으로 jti 가 없으면 전부 종료)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String userEmail = new String(message.getBody(), StandardCharsets.UTF_8);
+        String currentJti = redisTemplate.opsForValue().get(JwtUtil.accessJtiKey(userEmail));
+        chatSessionRegistry.revokeUser(userEmail, currentJti);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.example.withdogandcat.domain.chat.config;
+
+public enum SlowConsumerPolicy {
+
+    /**
+     * 세션 송신 버퍼가 한도를 넘었을 때의 처리 방식
+     * DROP_OLDEST : 가장 오래된 프레임부터 버림
+     * COALESCE : 대체 가능한 destination(이벤트, 인원, 안 읽은 수)은 가장 최근 프레임만 남기고, 그래도 넘치면 오래된 것부터 버림
+     * DISCONNECT : 연결 종료
+     */
+
+    DROP_OLDEST,
+    COALESCE,
+    DISCONNECT
+
+}
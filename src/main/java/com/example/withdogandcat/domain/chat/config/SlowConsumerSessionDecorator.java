@@ -0,0 +1,272 @@
+package com.example.withdogandcat.domain.chat.config;
+
+import com.example.withdogandcat.domain.chat.service.LocalRoomBroadcaster;
+import com.example.withdogandcat.domain.chat.service.RoomOccupancyNotifier;
+import com.example.withdogandcat.domain.chat.service.UnreadNotifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class SlowConsumerSessionDecorator extends WebSocketSessionDecorator {
+
+    /**
+     * 세션별 송신 버퍼
+     * 아웃바운드 스레드는 버퍼에 넣기만 하고 실제 전송은 송신 전용 executor 에서 세션마다 하나씩 처리
+     * 버퍼 크기 한도를 넘으면 SlowConsumerPolicy 에 따라 처리하고, 전송 하나가 시간 한도를 넘기면 연결 종료
+     * 시간 한도는 프레임이 들어올 때와 OutboundBackpressureDecoratorFactory 의 주기적인 검사에서 확인하고,
+     * 종료할 때 전송 중인 송신 스레드를 인터럽트해서 막힌 세션이 송신 스레드를 계속 붙잡지 않게 한다
+     * 한 번에 MAX_FRAMES_PER_DRAIN 개까지만 보내고 다시 executor 에 넣어서 다른 세션도 차례가 오게 한다
+     */
+
+    private static final int MAX_FRAMES_PER_DRAIN = 64;
+
+    private final Executor sendExecutor;
+    private final SlowConsumerPolicy policy;
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+    private final OutboundBackpressureDecoratorFactory.Listener listener;
+
+    private final Deque<WebSocketMessage<?>> buffer = new LinkedBlockingDeque<>();
+    private final AtomicLong bufferSize = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Object sendLock = new Object();
+    private volatile long sendStartTime;
+    private volatile Thread sendingThread;
+    private volatile boolean closed;
+
+    private final AtomicInteger droppedFrames = new AtomicInteger();
+
+    public SlowConsumerSessionDecorator(WebSocketSession delegate, Executor sendExecutor, SlowConsumerPolicy policy,
+                                        int sendTimeLimit, int bufferSizeLimit,
+                                        OutboundBackpressureDecoratorFactory.Listener listener) {
+        super(delegate);
+        this.sendExecutor = sendExecutor;
+        this.policy = policy;
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.listener = listener;
+    }
+
+    public int getBufferedFrames() {
+        return buffer.size();
+    }
+
+    public long getBufferSize() {
+        return bufferSize.get();
+    }
+
+    public int getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closed) {
+            return;
+        }
+
+        buffer.add(message);
+        bufferSize.addAndGet(message.getPayloadLength());
+        listener.onEnqueued(buffer.size());
+
+        if (isSendTimeExceeded()) {
+            terminate("send-time-limit");
+            return;
+        }
+
+        if (bufferSize.get() > bufferSizeLimit) {
+            handleOverflow();
+        }
+
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true)) {
+            sendExecutor.execute(this::drain);
+        }
+    }
+
+    /**
+     * 전송 하나가 시간 한도를 넘겼으면 연결 종료 (새 프레임이 없어도 주기적으로 호출됨)
+     */
+    public void checkSendTimeLimit() {
+        if (!closed && isSendTimeExceeded()) {
+            terminate("send-time-limit");
+        }
+    }
+
+    private boolean isSendTimeExceeded() {
+        long startTime = sendStartTime;
+        return startTime > 0 && System.currentTimeMillis() - startTime > sendTimeLimit;
+    }
+
+    private void drain() {
+        try {
+            int sent = 0;
+            WebSocketMessage<?> message;
+            while (!closed && sent++ < MAX_FRAMES_PER_DRAIN && (message = buffer.poll()) != null) {
+                bufferSize.addAndGet(-message.getPayloadLength());
+                startSend();
+                try {
+                    getDelegate().sendMessage(message);
+                } finally {
+                    endSend();
+                }
+            }
+        } catch (Exception e) {
+            log.debug("웹소켓 전송 실패: {}", getId(), e);
+            terminate("send-failed");
+        } finally {
+            // 시간 한도 초과로 받은 인터럽트가 같은 송신 스레드의 다음 작업에 남지 않게 지운다
+            Thread.interrupted();
+            draining.set(false);
+        }
+
+        // 드레인 종료 직후 들어온 프레임 또는 이번에 다 보내지 못한 프레임 처리
+        scheduleDrain();
+    }
+
+    private void startSend() {
+        synchronized (sendLock) {
+            sendingThread = Thread.currentThread();
+            sendStartTime = System.currentTimeMillis();
+        }
+    }
+
+    private void endSend() {
+        synchronized (sendLock) {
+            sendingThread = null;
+            sendStartTime = 0;
+        }
+    }
+
+    /**
+     * 전송 중인 송신 스레드만 인터럽트 (전송이 끝난 스레드가 다른 세션을 처리하고 있으면 건드리지 않는다)
+     */
+    private void interruptSend() {
+        synchronized (sendLock) {
+            if (sendingThread != null && sendingThread != Thread.currentThread()) {
+                sendingThread.interrupt();
+            }
+        }
+    }
+
+    private synchronized void handleOverflow() {
+        if (closed || bufferSize.get() <= bufferSizeLimit) {
+            return;
+        }
+
+        switch (policy) {
+            case DISCONNECT -> terminate("buffer-limit");
+            case COALESCE -> {
+                coalesce();
+                dropOldest();
+            }
+            default -> dropOldest();
+        }
+    }
+
+    /**
+     * 최근 프레임부터 보면서 이미 나온 destination 의 이전 MESSAGE 프레임 제거
+     * 최신 값으로 대체해도 되는 프레임(입력 중 이벤트, 채팅방 인원, 안 읽은 수)만 대상이고 채팅방 메세지는 버리지 않는다
+     */
+    private void coalesce() {
+        Set<String> seen = new HashSet<>();
+        Iterator<WebSocketMessage<?>> iterator = buffer.descendingIterator();
+        while (iterator.hasNext()) {
+            WebSocketMessage<?> message = iterator.next();
+            String destination = extractDestination(message);
+            if (isReplaceable(destination) && !seen.add(destination)) {
+                iterator.remove();
+                dropped(message);
+            }
+        }
+    }
+
+    private void dropOldest() {
+        while (bufferSize.get() > bufferSizeLimit) {
+            WebSocketMessage<?> message = buffer.poll();
+            if (message == null) {
+                return;
+            }
+            dropped(message);
+        }
+    }
+
+    private void dropped(WebSocketMessage<?> message) {
+        bufferSize.addAndGet(-message.getPayloadLength());
+        droppedFrames.incrementAndGet();
+        listener.onDropped(policy);
+    }
+
+    private void terminate(String reason) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        log.warn("느린 웹소켓 세션 종료 ({}): {}, 버퍼 {}건/{}바이트", reason, getId(), buffer.size(), bufferSize.get());
+        listener.onTerminated(reason);
+        buffer.clear();
+        bufferSize.set(0);
+        interruptSend();
+
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception e) {
+            log.debug("웹소켓 세션 종료 오류: {}", getId(), e);
+        }
+    }
+
+    /**
+     * 연결이 끊어진 뒤 남은 버퍼 정리
+     */
+    public void release() {
+        closed = true;
+        buffer.clear();
+        bufferSize.set(0);
+    }
+
+    static boolean isReplaceable(String destination) {
+        return destination != null
+                && (destination.endsWith(LocalRoomBroadcaster.EVENTS_DESTINATION_SUFFIX)
+                || destination.equals(RoomOccupancyNotifier.OCCUPANCY_DESTINATION)
+                || destination.endsWith(UnreadNotifier.UNREAD_DESTINATION));
+    }
+
+    /**
+     * STOMP MESSAGE 프레임의 destination 헤더 (다른 프레임이면 null)
+     */
+    private static String extractDestination(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage textMessage)) {
+            return null;
+        }
+
+        String payload = textMessage.getPayload();
+        if (!payload.startsWith("MESSAGE\n")) {
+            return null;
+        }
+
+        int headerEnd = payload.indexOf("\n\n");
+        for (String line : payload.substring(0, headerEnd < 0 ? payload.length() : headerEnd).split("\n")) {
+            if (line.startsWith("destination:")) {
+                return line.substring("destination:".length());
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.example.withdogandcat.domain.chat.config;
+
+import com.example.withdogandcat.global.exception.BaseException;
+import com.example.withdogandcat.global.exception.BaseResponseStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.security.Principal;
+
+@Getter
+@RequiredArgsConstructor
+public class StompPrincipal implements Principal {
+
+    /**
+     * CONNECT 시점에 검증한 사용자 정보
+     * 이후 프레임에서는 토큰을 다시 파싱하지 않고 이 값을 재사용
+     */
+
+    private final String email;
+    private final String jti;
+    private final long expiresAt;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean isExpired() {
+        return System.currentTimeMillis() >= expiresAt;
+    }
+
+    /**
+     * 세션에 묶인 사용자 이메일 반환 (암호화 연산, Redis 조회 없음)
+     */
+    public static String resolveEmail(Principal principal) {
+        if (!(principal instanceof StompPrincipal stompPrincipal)) {
+            throw new BaseException(BaseResponseStatus.TOKEN_NOT_EXIST);
+        }
+
+        if (stompPrincipal.isExpired()) {
+            throw new BaseException(BaseResponseStatus.EXPIRED_TOKEN);
+        }
+
+        return stompPrincipal.getEmail();
+    }
+
+}
@@ -2,10 +2,13 @@ package com.example.withdogandcat.domain.chat.config;
 
 import com.example.withdogandcat.global.security.jwt.JwtUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -16,7 +19,30 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSockConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtUtil jwtUtil;
+    private final ChatSessionRegistry chatSessionRegistry;
     private final RedisTemplate<String, String> redisTemplate;
+    private final OutboundBackpressureDecoratorFactory outboundBackpressureDecoratorFactory;
+
+    @Value("${chat.ws.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${chat.ws.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${chat.ws.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${chat.ws.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${chat.ws.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${chat.ws.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${chat.ws.message-size-limit:65536}")
+    private int messageSizeLimit;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
@@ -24,18 +50,53 @@ public class WebSockConfig implements WebSocketMessageBrokerConfigurer {
         config.setApplicationDestinationPrefixes("/pub");
     }
 
+    /**
+     * 인바운드 STOMP 프레임 검증 인터셉터 등록
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(filterChannelInterceptor());
+        registration.taskExecutor()
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    /**
+     * 세션별 송신 버퍼/시간 한도와 느린 클라이언트 처리 정책 적용
+     * 세션 폐기 시 연결을 끊을 수 있도록 웹소켓 세션을 기록
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .setSendTimeLimit(outboundBackpressureDecoratorFactory.getSendTimeLimit())
+                .setSendBufferSizeLimit(outboundBackpressureDecoratorFactory.getSendBufferSizeLimit())
+                .addDecoratorFactory(outboundBackpressureDecoratorFactory)
+                .addDecoratorFactory(chatSessionRegistry::decorate);
+    }
+
     /**
      * Websocket 연결을 위한 엔드포인트
+     * 세션별 수신 순서를 유지해야 채팅방 레인에도 보낸 순서대로 들어간다
      */
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws").setAllowedOriginPatterns("*");
+        registry.setPreserveReceiveOrder(true);
         // .withSockJS();
     }
 
     @Bean
     public FilterChannelInterceptor filterChannelInterceptor() {
-        return new FilterChannelInterceptor(jwtUtil, redisTemplate);
+        return new FilterChannelInterceptor(jwtUtil, chatSessionRegistry, redisTemplate);
     }
 
 }
@@ -2,10 +2,12 @@ package com.example.withdogandcat.domain.chat.config;
 
 import com.example.withdogandcat.domain.chat.entity.ChatMessage;
 import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.example.withdogandcat.domain.chat.heartbeat.PresenceService;
 import com.example.withdogandcat.domain.chat.redis.RedisPublisher;
 import com.example.withdogandcat.domain.chat.repo.ChatRoomRepository;
-import com.example.withdogandcat.global.security.jwt.JwtUtil;
+import com.example.withdogandcat.global.common.SessionKeys;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -15,17 +17,24 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
+import java.security.Principal;
+import java.util.Map;
 import java.util.Set;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class WebSocketEventListener {
 
-    private final JwtUtil jwtUtil;
     private final RedisPublisher redisPublisher;
+    private final PresenceService presenceService;
     private final ChatRoomRepository chatRoomRepository;
     private final RedisTemplate<String, String> redisTemplate;
 
+    private static final long INACTIVE_TIMEOUT_MS = 300000;
+    private static final int EVICTION_BATCH_SIZE = 100;
+    private static final int MAX_EVICTION_BATCHES = 50;
+
     /**
      * websocket 연결 이벤트에 대한 세션관련 로직
      * connect 되면 세션 생성 -> 레디스 저장
@@ -37,17 +46,16 @@ public class WebSocketEventListener {
 
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headerAccessor.getSessionId();
-        String token = headerAccessor.getFirstNativeHeader(JwtUtil.AUTHORIZATION_HEADER);
+        Principal user = event.getUser();
 
-        if (token != null && jwtUtil.validateToken(token, false)) {
-            String userEmail = jwtUtil.getUserEmailFromToken(token);
+        if (user instanceof StompPrincipal) {
+            String userEmail = user.getName();
 
-            String activeSession = redisTemplate.opsForValue().get("active_session:" + userEmail);
-            if (activeSession != null && !activeSession.equals(sessionId)) {
-                throw new IllegalStateException("중복접속으로 새로운 세션으로 업데이트");
+            // 중복 접속이면 가장 최근 세션으로 교체 (이전 세션은 연결을 유지하되 대표 세션에서 빠진다)
+            String previousSession = redisTemplate.opsForValue().getAndSet("active_session:" + userEmail, sessionId);
+            if (previousSession != null && !previousSession.equals(sessionId)) {
+                log.info("중복접속으로 새로운 세션으로 업데이트: {} {} -> {}", userEmail, previousSession, sessionId);
             }
-
-            redisTemplate.opsForValue().set("active_session:" + userEmail, sessionId);
         }
     }
 
@@ -55,44 +63,40 @@ public class WebSocketEventListener {
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
         String sessionId = event.getSessionId();
 
-        String userEmail = redisTemplate.opsForValue().get("session:userEmail:" + sessionId);
+        String userEmail = redisTemplate.opsForValue().get(SessionKeys.SESSION_USER_KEY_PREFIX + sessionId);
         if (userEmail != null) {
             String activeSession = redisTemplate.opsForValue().get("active_session:" + userEmail);
             if (activeSession != null && activeSession.equals(sessionId)) {
                 redisTemplate.delete("active_session:" + userEmail);
             }
-            redisTemplate.delete("session:userEmail:" + sessionId);
+            redisTemplate.delete(SessionKeys.SESSION_USER_KEY_PREFIX + sessionId);
+            redisTemplate.opsForSet().remove(SessionKeys.USER_SESSIONS_KEY_PREFIX + userEmail, sessionId);
         }
     }
 
     /**
      * 비활동 사용자 관련 로직
+     * 5분 초과 비활동 사용자를 배치 단위로 정리 (비용은 정리 대상 수에 비례)
      */
     @Scheduled(fixedRate = 60000)
     public void removeInactiveUsers() {
-        Set<String> users = redisTemplate.keys("heartbeat:*");
-        long currentTime = System.currentTimeMillis();
-        for (String userKey : users) {
-            String userEmail = userKey.split(":")[1];
-            String lastHeartbeatStr = redisTemplate.opsForValue().get(userKey);
-            long lastHeartbeat = Long.parseLong(lastHeartbeatStr);
-
-            if (currentTime - lastHeartbeat > 300000) { // 5분 초과 비활동
-                Set<String> chatRooms = redisTemplate.keys("chatRoom:*:members");
-                for (String chatRoomKey : chatRooms) {
-                    boolean removed = redisTemplate.opsForSet().remove(chatRoomKey, userEmail) > 0;
-                    if (removed) {
-                        sendExitMessageToChatRoom(chatRoomKey, userEmail);
-                    }
-                }
+        long lastSeenBefore = System.currentTimeMillis() - INACTIVE_TIMEOUT_MS;
 
+        for (int batch = 0; batch < MAX_EVICTION_BATCHES; batch++) {
+            Map<String, Set<String>> evicted = presenceService.evictInactive(lastSeenBefore, EVICTION_BATCH_SIZE);
+
+            evicted.forEach((userEmail, roomIds) -> {
+                roomIds.forEach(roomId -> sendExitMessageToChatRoom(roomId, userEmail));
                 redisTemplate.delete("active_session:" + userEmail);
+            });
+
+            if (evicted.size() < EVICTION_BATCH_SIZE) {
+                break;
             }
         }
     }
 
-    private void sendExitMessageToChatRoom(String chatRoomKey, String userEmail) {
-        String roomId = chatRoomKey.split(":")[1];
+    private void sendExitMessageToChatRoom(String roomId, String userEmail) {
         ChatMessage exitMessage = new ChatMessage();
         exitMessage.setSender("System");
         exitMessage.setType(MessageType.QUIT);
@@ -1,63 +1,93 @@
 package com.example.withdogandcat.domain.chat.controller;
 
+import com.example.withdogandcat.domain.chat.config.StompPrincipal;
 import com.example.withdogandcat.domain.chat.entity.ChatMessage;
 import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.example.withdogandcat.domain.chat.heartbeat.PresenceService;
+import com.example.withdogandcat.domain.chat.redis.ChatRateLimiter;
 import com.example.withdogandcat.domain.chat.redis.RedisPublisher;
 import com.example.withdogandcat.domain.chat.repo.ChatRoomRepository;
+import com.example.withdogandcat.domain.chat.service.ChatEventThrottle;
 import com.example.withdogandcat.domain.chat.service.ChatMessageService;
+import com.example.withdogandcat.domain.chat.service.RoomLaneExecutor;
+import com.example.withdogandcat.domain.chat.service.UnreadNotifier;
+import com.example.withdogandcat.global.common.BaseResponse;
 import com.example.withdogandcat.global.exception.BaseException;
 import com.example.withdogandcat.global.exception.BaseResponseStatus;
-import com.example.withdogandcat.global.security.jwt.JwtUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
+
 @Controller
 @RequiredArgsConstructor
 public class ChatController {
 
-    private final JwtUtil jwtUtil;
+    private static final String ERRORS_DESTINATION = "/sub/errors";
+
     private final RedisPublisher redisPublisher;
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final ChatRateLimiter chatRateLimiter;
+    private final ChatEventThrottle chatEventThrottle;
+    private final PresenceService presenceService;
     private final ChatRoomRepository chatRoomRepository;
     private final ChatMessageService chatMessageService;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final UnreadNotifier unreadNotifier;
+    private final SimpMessageSendingOperations messagingTemplate;
 
 
     /**
      * websocket "/pub/chat/message"로 들어오는 메시징을 처리
+     * 인증은 CONNECT 때 세션에 묶어둔 사용자로 확인 (프레임마다 토큰 검증하지 않음)
+     * 빈도 제한까지만 인바운드 스레드에서 처리하고, Redis/DB 작업은 채팅방 레인(RoomLaneExecutor)에서 순서대로 처리
      */
     @MessageMapping("/chat/message")
-    public void message(ChatMessage message, StompHeaderAccessor headerAccessor) {
+    public void message(ChatMessage message, Principal principal, SimpMessageHeaderAccessor headerAccessor) {
+
+        String userEmail = StompPrincipal.resolveEmail(principal);
+
+        if (message.getType() != null && message.getType().isEphemeral()) {
+            publishEvent(message, userEmail);
+            return;
+        }
+
+        if (message.getRoomId() == null) {
+            throw new BaseException(BaseResponseStatus.ELEMENTS_IS_REQUIRED);
+        }
 
-        String token = headerAccessor.getFirstNativeHeader(JwtUtil.AUTHORIZATION_HEADER);
-        jwtUtil.validateToken(token, false);
-        String userEmail = jwtUtil.getUserEmailFromToken(token);
+        presenceService.touch(userEmail);
+        chatRateLimiter.acquire(userEmail, message.getRoomId());
 
-        long currentTime = System.currentTimeMillis();
-        redisTemplate.opsForValue().set("heartbeat:" + userEmail, String.valueOf(currentTime));
+        String sessionId = headerAccessor.getSessionId();
+        roomLaneExecutor.execute(message.getRoomId(), () -> {
+            try {
+                processMessage(message, userEmail);
+            } catch (BaseException e) {
+                sendError(userEmail, sessionId, e);
+            }
+        });
+    }
 
+    private void processMessage(ChatMessage message, String userEmail) {
         if (!chatRoomRepository.existsById(message.getRoomId())) {
             throw new BaseException(BaseResponseStatus.CHATROOM_NOT_FOUND);
         }
 
         if (MessageType.ENTER.equals(message.getType())) {
-            boolean isUserAlreadyInRoom = redisTemplate.opsForSet().isMember("chatRoom:" + message.getRoomId() + ":members", userEmail);
-
-            if (!isUserAlreadyInRoom) {
-                chatRoomRepository.enterChatRoom(message.getRoomId());
+            if (presenceService.joinRoom(userEmail, message.getRoomId())) {
                 message.setMessage(message.getSender() + "님이 입장하셨습니다.");
-
-                redisTemplate.opsForSet().add("chatRoom:" + message.getRoomId() + ":members", userEmail);
-                redisTemplate.opsForValue().set("user:" + userEmail + ":room:" + message.getRoomId(), "true");
             }
 
         } else if (MessageType.QUIT.equals(message.getType())) {
             message.setMessage(message.getSender() + "님이 퇴장하셨습니다.");
 
-            redisTemplate.opsForSet().remove("chatRoom:" + message.getRoomId() + ":members", userEmail);
-            redisTemplate.delete("user:" + userEmail + ":room:" + message.getRoomId());
+            presenceService.leaveRoom(userEmail, message.getRoomId());
 
         } else if (MessageType.TALK.equals(message.getType())) {
             if (message.getMessage() == null || message.getMessage().trim().isEmpty()) {
@@ -69,8 +99,84 @@ public class ChatController {
             }
         }
 
-        redisPublisher.publish(chatRoomRepository.getTopic(message.getRoomId()), message);
         chatMessageService.saveMessage(message.getRoomId(), message, userEmail);
+        redisPublisher.publish(chatRoomRepository.getTopic(message.getRoomId()), message);
+    }
+
+    /**
+     * websocket "/pub/chat/event"로 들어오는 일시적 이벤트(입력 중 표시 등)를 처리
+     * 저장, 하트비트 갱신 없이 전달만 하고 빈도 제한을 넘거나 채팅방에 입장하지 않은 사용자면 버린다
+     */
+    @MessageMapping("/chat/event")
+    public void event(ChatMessage message, Principal principal) {
+        String userEmail = StompPrincipal.resolveEmail(principal);
+
+        if (message.getType() == null || !message.getType().isEphemeral()) {
+            throw new BaseException(BaseResponseStatus.ELEMENTS_IS_REQUIRED);
+        }
+
+        publishEvent(message, userEmail);
+    }
+
+    /**
+     * websocket "/pub/chat/read"로 들어오는 읽음 처리 (roomId, seq=마지막으로 읽은 메세지 순번)
+     * 입장하지 않은 채팅방에는 읽음 위치를 만들지 않는다
+     */
+    @MessageMapping("/chat/read")
+    public void read(ChatMessage message, Principal principal) {
+        String userEmail = StompPrincipal.resolveEmail(principal);
+
+        if (message.getRoomId() == null || message.getSeq() == null) {
+            throw new BaseException(BaseResponseStatus.ELEMENTS_IS_REQUIRED);
+        }
+
+        if (!presenceService.isMember(userEmail, message.getRoomId())) {
+            throw new BaseException(BaseResponseStatus.ACCESS_DENIED);
+        }
+
+        unreadNotifier.markRead(userEmail, message.getRoomId(), message.getSeq());
+    }
+
+    /**
+     * 메세지 처리 중 발생한 오류를 보낸 세션에만 전달 (클라이언트는 /user/sub/errors 구독)
+     * 빈도 제한은 CHAT_RATE_LIMITED(4511) 코드로 구분
+     */
+    @MessageExceptionHandler(BaseException.class)
+    @SendToUser(destinations = ERRORS_DESTINATION, broadcast = false)
+    public BaseResponse<Void> handleException(BaseException e) {
+        return new BaseResponse<>(e.getStatus());
+    }
+
+    /**
+     * 레인에서 발생한 오류를 보낸 세션에만 전달 (@SendToUser(broadcast = false) 와 같은 방식)
+     */
+    private void sendError(String userEmail, String sessionId, BaseException e) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(userEmail, ERRORS_DESTINATION, new BaseResponse<>(e.getStatus()),
+                accessor.getMessageHeaders());
+    }
+
+    /**
+     * 채팅방에 입장한 사용자의 이벤트만 전달
+     * 클라이언트가 보낸 본문과 발신자는 쓰지 않고, 종류/채팅방/인증된 사용자만 담아서 새로 만든다
+     */
+    private void publishEvent(ChatMessage message, String userEmail) {
+        if (message.getRoomId() == null || !chatEventThrottle.tryAcquire(userEmail, message.getRoomId())) {
+            return;
+        }
+
+        if (!presenceService.isMember(userEmail, message.getRoomId())) {
+            return;
+        }
+
+        ChatMessage event = new ChatMessage();
+        event.setType(message.getType());
+        event.setRoomId(message.getRoomId());
+        event.setSender(userEmail);
+
+        redisPublisher.publish(chatRoomRepository.getTopic(message.getRoomId()), event);
     }
 
 }
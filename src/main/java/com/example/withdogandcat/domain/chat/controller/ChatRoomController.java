@@ -1,8 +1,11 @@
 package com.example.withdogandcat.domain.chat.controller;
 
+import com.example.withdogandcat.domain.chat.dto.ChatMessagePageDto;
 import com.example.withdogandcat.domain.chat.dto.ChatRoomDetailDto;
 import com.example.withdogandcat.domain.chat.dto.ChatRoomDto;
 import com.example.withdogandcat.domain.chat.dto.ChatRoomListDto;
+import com.example.withdogandcat.domain.chat.dto.ChatSearchResultDto;
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
 import com.example.withdogandcat.domain.chat.repo.ChatRoomRepository;
 import com.example.withdogandcat.domain.chat.service.ChatMessageService;
 import com.example.withdogandcat.domain.chat.service.ChatRoomService;
@@ -19,6 +22,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Controller
@@ -31,15 +35,39 @@ public class ChatRoomController {
     private final ChatMessageService chatMessageService;
 
     /**
-     * 채팅방 전체 조회
+     * 채팅방 전체 조회 (size 를 주면 page 단위로 조회)
      */
     @GetMapping("/rooms")
     @ResponseBody
-    public ResponseEntity<BaseResponse<List<ChatRoomListDto>>> room() {
-        BaseResponse<List<ChatRoomListDto>> response = chatRoomService.findAllRoomListDtos();
+    public ResponseEntity<BaseResponse<List<ChatRoomListDto>>> room(@RequestParam(value = "page", defaultValue = "0") int page,
+                                                                    @RequestParam(value = "size", defaultValue = "0") int size) {
+        BaseResponse<List<ChatRoomListDto>> response = chatRoomService.findAllRoomListDtos(page, size);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 채팅방 목록의 안 읽은 메세지 수 조회 (roomIds=쉼표로 구분)
+     * 이후 변경은 /user/sub/unread 로 전달된다
+     */
+    @GetMapping("/rooms/unread")
+    @ResponseBody
+    public ResponseEntity<BaseResponse<Map<String, Long>>> unreadCounts(@RequestParam("roomIds") List<String> roomIds,
+                                                                       HttpServletRequest request) {
+        try {
+            String token = jwtUtil.resolveToken(request);
+            jwtUtil.validateToken(token, false);
+            String userEmail = jwtUtil.getUserEmailFromToken(token);
+
+            BaseResponse<Map<String, Long>> response = chatMessageService.getUnreadCounts(userEmail, roomIds);
+            return ResponseEntity.ok(response);
+
+        } catch (BaseException e) {
+            return ResponseEntity
+                    .status(e.getStatus().getCode())
+                    .body(new BaseResponse<>(e.getStatus(), e.getMessage(), null));
+        }
+    }
+
     /**
      * 채팅방 생성
      */
@@ -99,9 +127,52 @@ public class ChatRoomController {
      */
     @GetMapping("/room/{roomId}/messages")
     @ResponseBody
-    public ResponseEntity<BaseResponse<List<Object>>> roomMessages(@PathVariable("roomId") String roomId) {
-        BaseResponse<List<Object>> response = chatMessageService.getMessages(roomId);
+    public ResponseEntity<BaseResponse<List<ChatMessage>>> roomMessages(@PathVariable("roomId") String roomId) {
+        BaseResponse<List<ChatMessage>> response = chatMessageService.getMessages(roomId);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 특정 채팅방의 이전 메세지 조회 (before=메세지 id 커서)
+     */
+    @GetMapping("/room/{roomId}/messages/history")
+    @ResponseBody
+    public ResponseEntity<BaseResponse<ChatMessagePageDto>> roomMessageHistory(@PathVariable("roomId") String roomId,
+                                                                               @RequestParam(value = "before", required = false) Long before,
+                                                                               @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        BaseResponse<ChatMessagePageDto> response = chatMessageService.getMessageHistory(roomId, before, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 재연결 시 놓친 메세지만 조회 (since=마지막으로 받은 seq)
+     */
+    @GetMapping("/room/{roomId}/messages/since")
+    @ResponseBody
+    public ResponseEntity<BaseResponse<ChatMessagePageDto>> roomMessagesSince(@PathVariable("roomId") String roomId,
+                                                                              @RequestParam("seq") long since,
+                                                                              @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        BaseResponse<ChatMessagePageDto> response = chatMessageService.getMessagesSince(roomId, since, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 채팅 메세지 검색 (roomId 또는 userEmail 중 하나는 필수)
+     */
+    @GetMapping("/search")
+    @ResponseBody
+    public ResponseEntity<BaseResponse<ChatSearchResultDto>> searchMessages(@RequestParam("q") String query,
+                                                                            @RequestParam(value = "roomId", required = false) String roomId,
+                                                                            @RequestParam(value = "userEmail", required = false) String userEmail,
+                                                                            @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            BaseResponse<ChatSearchResultDto> response = chatMessageService.searchMessages(query, roomId, userEmail, page, size);
+            return ResponseEntity.ok(response);
+        } catch (BaseException e) {
+            return ResponseEntity.badRequest()
+                    .body(new BaseResponse<>(e.getStatus(), e.getMessage(), null));
+        }
+    }
+
 }
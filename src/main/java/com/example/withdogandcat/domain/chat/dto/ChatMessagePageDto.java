@@ -0,0 +1,34 @@
+package com.example.withdogandcat.domain.chat.dto;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChatMessagePageDto {
+
+    /**
+     * 채팅 메세지 이전 기록 조회시 반환 값
+     * messages는 오래된 순, 다음 페이지는 before=nextCursor 로 요청
+     * since 조회에서는 nextCursor 가 마지막 seq 이고 다음 페이지는 since=nextCursor 로 요청
+     * reset 이 true 면 since 이후 순번이 중간에 비어 있으므로 (정리/유실된 메세지) 이어 붙이지 말고 최신 기록부터 다시 받는다
+     */
+    private List<ChatMessage> messages;
+    private Long nextCursor;
+    private boolean hasNext;
+    private boolean reset;
+
+    @Builder
+    public ChatMessagePageDto(List<ChatMessage> messages, Long nextCursor, boolean hasNext, boolean reset) {
+        this.messages = messages;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+        this.reset = reset;
+    }
+
+}
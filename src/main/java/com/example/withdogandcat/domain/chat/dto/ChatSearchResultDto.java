@@ -0,0 +1,30 @@
+package com.example.withdogandcat.domain.chat.dto;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChatSearchResultDto {
+
+    /**
+     * 채팅 메세지 검색 결과
+     * messages는 관련도(일치 글자쌍 수) 높은 순, 같으면 최신 순
+     */
+    private List<ChatMessage> messages;
+    private int page;
+    private boolean hasNext;
+
+    @Builder
+    public ChatSearchResultDto(List<ChatMessage> messages, int page, boolean hasNext) {
+        this.messages = messages;
+        this.page = page;
+        this.hasNext = hasNext;
+    }
+
+}
@@ -9,10 +9,13 @@ import java.io.Serializable;
 @Setter
 public class ChatMessage implements Serializable {
 
+    private Long id;
+    private Long seq;
     private MessageType type;
     private String roomId;
     private String sender;
     private String message;
     private String sentAt;
+    private String originNodeId;
 
 }
@@ -10,11 +10,18 @@ import lombok.NoArgsConstructor;
 
 @Getter
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages",
+        indexes = {
+                @Index(name = "idx_chat_messages_room_id_id", columnList = "room_id, id"),
+                @Index(name = "idx_chat_messages_room_id_seq", columnList = "room_id, seq")
+        })
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ChatMessageEntity extends Timestamped {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    /**
+     * id 는 DB 가 아니라 ChatMessageIdGenerator 가 발행 시점에 발급한다
+     */
+    @Id
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -22,6 +29,8 @@ public class ChatMessageEntity extends Timestamped {
 
     private String roomId;
 
+    private Long seq;
+
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User sender;
@@ -29,9 +38,11 @@ public class ChatMessageEntity extends Timestamped {
     private String message;
 
     @Builder
-    private ChatMessageEntity(MessageType type, String roomId, User sender, String message) {
+    private ChatMessageEntity(Long id, MessageType type, String roomId, Long seq, User sender, String message) {
+        this.id = id;
         this.type = type;
         this.roomId = roomId;
+        this.seq = seq;
         this.sender = sender;
         this.message = message;
     }
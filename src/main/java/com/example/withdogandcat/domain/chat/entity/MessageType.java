@@ -3,5 +3,13 @@ package com.example.withdogandcat.domain.chat.entity;
 public enum MessageType {
     ENTER,
     TALK,
-    QUIT
+    QUIT,
+    TYPING;
+
+    /**
+     * 저장하지 않고 전달만 하는 이벤트 (입력 중 표시 등)
+     */
+    public boolean isEphemeral() {
+        return this == TYPING;
+    }
 }
@@ -0,0 +1,105 @@
+package com.example.withdogandcat.domain.chat.heartbeat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HeartbeatAggregator {
+
+    /**
+     * 하트비트/메세지마다 Redis에 쓰지 않고 사용자별 마지막 시각만 메모리에 모아둔다
+     * 주기적으로 변경된 사용자만 ZADD GT 한 번(여러 member)으로 presence:last-seen 에 반영
+     * GT 라서 다른 노드가 먼저 더 늦은 시각을 기록했거나 실패 후 재시도가 늦게 도착해도 점수가 뒤로 가지 않는다 (Redis 6.2 이상)
+     */
+
+    private final MeterRegistry meterRegistry;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+
+    private Counter touchCounter;
+    private Counter flushedCounter;
+    private Counter failedCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    private void init() {
+        meterRegistry.gauge("chat.heartbeat.pending", pending, Map::size);
+        touchCounter = meterRegistry.counter("chat.heartbeat.touches");
+        flushedCounter = meterRegistry.counter("chat.heartbeat.flushed");
+        failedCounter = meterRegistry.counter("chat.heartbeat.failed");
+        flushTimer = meterRegistry.timer("chat.heartbeat.flush");
+    }
+
+    /**
+     * 같은 사용자의 여러 하트비트는 마지막 시각 하나로 합쳐진다
+     * (병합 비율 = chat.heartbeat.touches / chat.heartbeat.flushed)
+     */
+    public void touch(String userEmail) {
+        pending.merge(userEmail, System.currentTimeMillis(), Math::max);
+        touchCounter.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${chat.heartbeat.flush-interval-ms:3000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> flushed = new HashMap<>();
+        for (String userEmail : pending.keySet()) {
+            Long lastSeen = pending.remove(userEmail);
+            if (lastSeen != null) {
+                flushed.put(userEmail, lastSeen);
+            }
+        }
+
+        if (flushed.isEmpty()) {
+            return;
+        }
+
+        Set<Tuple> tuples = new HashSet<>();
+        flushed.forEach((userEmail, lastSeen) ->
+                tuples.add(new DefaultTuple(userEmail.getBytes(StandardCharsets.UTF_8), lastSeen.doubleValue())));
+        byte[] key = PresenceService.LAST_SEEN_KEY.getBytes(StandardCharsets.UTF_8);
+
+        try {
+            flushTimer.record(() -> redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.zSetCommands().zAdd(key, tuples, RedisZSetCommands.ZAddArgs.empty().gt())));
+            flushedCounter.increment(flushed.size());
+        } catch (Exception e) {
+            failedCounter.increment(flushed.size());
+            log.error("하트비트 반영 오류: {}건", flushed.size(), e);
+
+            // 다음 주기에 다시 반영되도록 되돌려 둔다
+            flushed.forEach((userEmail, lastSeen) -> pending.merge(userEmail, lastSeen, Math::max));
+        }
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        flush();
+    }
+
+}
@@ -1,12 +1,9 @@
 package com.example.withdogandcat.domain.chat.heartbeat;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.stereotype.Controller;
 
-import java.util.concurrent.TimeUnit;
-
 @Controller
 public class HeartbeatController {
 
@@ -15,14 +12,11 @@ public class HeartbeatController {
      */
 
     @Autowired
-    private RedisTemplate<String, String> redisTemplate;
+    private PresenceService presenceService;
 
     @MessageMapping("/chat/heartbeat")
     public void receiveHeartbeat(HeartbeatMessage message) {
-        String userEmail = message.getUserEmail();
-        long currentTime = System.currentTimeMillis();
-
-        redisTemplate.opsForValue().set("heartbeat:" + userEmail, String.valueOf(currentTime), 300, TimeUnit.SECONDS);
+        presenceService.touch(message.getUserEmail());
     }
 
 }
@@ -0,0 +1,96 @@
+package com.example.withdogandcat.domain.chat.heartbeat;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacyPresenceBackfill {
+
+    /**
+     * 이전 버전 접속 상태 키를 PresenceService 키로 한 번만 옮긴다
+     * user:{email}:room:{roomId} -> presence:user:{email}:rooms (SET)
+     * heartbeat:{email} -> presence:last-seen (ZSET)
+     * 옮기지 않으면 이전 버전에서 입장한 사용자는 비활동 정리(evictInactive) 대상에 잡히지 않는다
+     * 여러 노드가 동시에 시작해도 SETNX 로 한 노드만 수행하고, KEYS 대신 SCAN 으로 나눠 읽는다
+     */
+
+    private static final String DONE_KEY = "presence:legacy-backfill:done";
+    private static final String LEGACY_ROOM_PREFIX = "user:";
+    private static final String LEGACY_ROOM_INFIX = ":room:";
+    private static final String LEGACY_HEARTBEAT_PREFIX = "heartbeat:";
+    private static final int SCAN_COUNT = 1000;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(DONE_KEY, "running"))) {
+            return;
+        }
+
+        try {
+            int rooms = backfillRooms();
+            int heartbeats = backfillHeartbeats();
+            redisTemplate.opsForValue().set(DONE_KEY, "done");
+            log.info("이전 접속 상태 키 이전 완료: 채팅방 입장 {}건, 하트비트 {}건", rooms, heartbeats);
+
+        } catch (Exception e) {
+            redisTemplate.delete(DONE_KEY);
+            log.error("이전 접속 상태 키 이전 오류", e);
+        }
+    }
+
+    private int backfillRooms() {
+        List<String> legacyKeys = scan(LEGACY_ROOM_PREFIX + "*" + LEGACY_ROOM_INFIX + "*");
+        for (String legacyKey : legacyKeys) {
+            int infix = legacyKey.lastIndexOf(LEGACY_ROOM_INFIX);
+            String userEmail = legacyKey.substring(LEGACY_ROOM_PREFIX.length(), infix);
+            String roomId = legacyKey.substring(infix + LEGACY_ROOM_INFIX.length());
+
+            // 이미 퇴장한 채팅방 기록은 옮기지 않는다
+            if (Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(PresenceService.membersKey(roomId), userEmail))) {
+                redisTemplate.opsForSet().add(PresenceService.userRoomsKey(userEmail), roomId);
+            }
+            redisTemplate.delete(legacyKey);
+        }
+        return legacyKeys.size();
+    }
+
+    private int backfillHeartbeats() {
+        List<String> legacyKeys = scan(LEGACY_HEARTBEAT_PREFIX + "*");
+        for (String legacyKey : legacyKeys) {
+            String userEmail = legacyKey.substring(LEGACY_HEARTBEAT_PREFIX.length());
+            String lastSeen = redisTemplate.opsForValue().get(legacyKey);
+            if (lastSeen != null) {
+                try {
+                    // 새 버전에서 이미 갱신된 사용자는 더 최근 값이 있으므로 없을 때만 추가
+                    redisTemplate.opsForZSet().addIfAbsent(PresenceService.LAST_SEEN_KEY, userEmail, Long.parseLong(lastSeen));
+                } catch (NumberFormatException e) {
+                    log.debug("하트비트 값 형식 오류, 이전 생략: {}", legacyKey);
+                }
+            }
+            redisTemplate.delete(legacyKey);
+        }
+        return legacyKeys.size();
+    }
+
+    private List<String> scan(String pattern) {
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+}
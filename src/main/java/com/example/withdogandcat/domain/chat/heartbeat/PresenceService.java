@@ -0,0 +1,155 @@
+package com.example.withdogandcat.domain.chat.heartbeat;
+
+import com.example.withdogandcat.domain.chat.service.RoomOccupancyNotifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PresenceService {
+
+    /**
+     * 채팅 사용자 접속 상태 관리
+     * presence:last-seen (ZSET) : 사용자별 마지막 활동 시각
+     * presence:user:{email}:rooms (SET) : 사용자가 입장한 채팅방 목록
+     * 비활동 사용자 정리는 KEYS 스캔 없이 ZRANGEBYSCORE + 해당 사용자의 채팅방만 정리
+     * 이전 버전 키(user:{email}:room:{roomId}, heartbeat:{email})는 LegacyPresenceBackfill 이 시작 시 한 번 옮긴다
+     * 채팅방 인원이 실제로 바뀌면 RoomOccupancyNotifier 에 알린다
+     */
+
+    public static final String LAST_SEEN_KEY = "presence:last-seen";
+
+    /**
+     * 아직 비활동 상태일 때만 ZREM 해서 다른 노드와 중복 처리하지 않도록 한다
+     */
+    private static final RedisScript<Long> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "local score = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+            "if score and tonumber(score) <= tonumber(ARGV[2]) then return redis.call('ZREM', KEYS[1], ARGV[1]) end " +
+            "return 0",
+            Long.class);
+
+    private final HeartbeatAggregator heartbeatAggregator;
+    private final RoomOccupancyNotifier roomOccupancyNotifier;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 마지막 활동 시각 갱신, Redis 반영은 HeartbeatAggregator 가 모아서 처리
+     */
+    public void touch(String userEmail) {
+        heartbeatAggregator.touch(userEmail);
+    }
+
+    /**
+     * 채팅방 입장, 새로 입장한 경우에만 true
+     */
+    public boolean joinRoom(String userEmail, String roomId) {
+        Long added = redisTemplate.opsForSet().add(membersKey(roomId), userEmail);
+        if (added == null || added == 0) {
+            return false;
+        }
+
+        redisTemplate.opsForSet().add(userRoomsKey(userEmail), roomId);
+        roomOccupancyNotifier.markDirty(roomId);
+        return true;
+    }
+
+    public void leaveRoom(String userEmail, String roomId) {
+        Long removed = redisTemplate.opsForSet().remove(membersKey(roomId), userEmail);
+        redisTemplate.opsForSet().remove(userRoomsKey(userEmail), roomId);
+
+        if (removed != null && removed > 0) {
+            roomOccupancyNotifier.markDirty(roomId);
+        }
+    }
+
+    /**
+     * 채팅방에 입장한 사용자인지 확인
+     */
+    public boolean isMember(String userEmail, String roomId) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(membersKey(roomId), userEmail));
+    }
+
+    /**
+     * lastSeenBefore 이전부터 활동이 없는 사용자를 최대 batchSize 명 정리
+     * 반환값: 사용자 -> 실제로 퇴장 처리된 채팅방 목록
+     */
+    public Map<String, Set<String>> evictInactive(long lastSeenBefore, int batchSize) {
+        Set<String> candidates = redisTemplate.opsForZSet()
+                .rangeByScore(LAST_SEEN_KEY, Double.NEGATIVE_INFINITY, lastSeenBefore, 0, batchSize);
+
+        Map<String, Set<String>> evicted = new LinkedHashMap<>();
+        if (candidates == null) {
+            return evicted;
+        }
+
+        for (String userEmail : candidates) {
+            Long claimed = redisTemplate.execute(CLAIM_SCRIPT, Collections.singletonList(LAST_SEEN_KEY),
+                    userEmail, String.valueOf(lastSeenBefore));
+            if (claimed == null || claimed == 0) {
+                continue;
+            }
+
+            Set<String> roomIds = redisTemplate.opsForSet().members(userRoomsKey(userEmail));
+            Set<String> leftRooms = roomIds == null ? Collections.emptySet() : roomIds.stream()
+                    .filter(roomId -> {
+                        Long removed = redisTemplate.opsForSet().remove(membersKey(roomId), userEmail);
+                        return removed != null && removed > 0;
+                    })
+                    .collect(Collectors.toSet());
+
+            redisTemplate.delete(userRoomsKey(userEmail));
+            leftRooms.forEach(roomOccupancyNotifier::markDirty);
+            evicted.put(userEmail, leftRooms);
+        }
+
+        return evicted;
+    }
+
+    /**
+     * 삭제된 채팅방의 참여자 목록과 참여자들의 입장 기록 정리 (파이프라인 두 번)
+     */
+    public void removeRooms(List<String> roomIds) {
+        List<Object> members = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            roomIds.forEach(roomId -> connection.setCommands().sMembers(bytes(membersKey(roomId))));
+            return null;
+        });
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < roomIds.size(); i++) {
+                String roomId = roomIds.get(i);
+                if (members.get(i) instanceof Collection<?> emails) {
+                    emails.forEach(email -> connection.setCommands()
+                            .sRem(bytes(userRoomsKey(String.valueOf(email))), bytes(roomId)));
+                }
+            }
+            connection.keyCommands().del(roomIds.stream().map(roomId -> bytes(membersKey(roomId))).toArray(byte[][]::new));
+            return null;
+        });
+    }
+
+    public static String membersKey(String roomId) {
+        return "chatRoom:" + roomId + ":members";
+    }
+
+    public static String userRoomsKey(String userEmail) {
+        return "presence:user:" + userEmail + ":rooms";
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
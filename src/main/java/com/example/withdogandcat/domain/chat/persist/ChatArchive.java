@@ -0,0 +1,499 @@
+package com.example.withdogandcat.domain.chat.persist;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.redis.ChatMessageCodec;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatArchive {
+
+    /**
+     * MySQL 보관 개수를 넘어 정리되는 메세지를 디스크에 보관하는 아카이브
+     * {dir}/{roomId}/{yyyyMMdd}.seg : 압축 블록을 이어 붙인 세그먼트 (채팅방 + 날짜 단위)
+     * {dir}/{roomId}/{yyyyMMdd}.idx : 블록마다 (firstId, lastId, offset) 한 건씩 남기는 희소 인덱스
+     *
+     * 블록 : [int 압축 길이][int 원본 길이][deflate(메세지 수만큼 [int 길이][ChatMessageCodec 바이트])]
+     * 읽기는 인덱스로 블록을 찾고 FileChannel 메모리 매핑으로 해당 블록만 읽는다
+     * 인덱스는 블록을 다 쓴 뒤에 추가하므로 읽는 쪽은 인덱스에 있는 블록만 보면 된다
+     * 늦게 저장된 메세지는 나중 블록에 들어가므로 블록 순서가 id 순서와 다를 수 있다 (읽을 때 lastId 기준으로 정렬)
+     *
+     * 어느 노드든 같은 아카이브를 읽을 수 있어야 하므로 chat.archive.dir 은 모든 노드가 공유하는 볼륨이어야 한다
+     * 시작 시 {dir}/.volume-id 와 Redis 의 chat:archive:volume-id 를 비교해서 공유되지 않은 디렉토리면 시작하지 않는다
+     * 쓰기는 노드 안에서는 채팅방별 모니터, 노드 사이에서는 {dir}/{roomId}/.lock 파일 잠금(FileChannel.lock)을 잡고 수행한다
+     */
+
+    public static final String VOLUME_ID_KEY = "chat:archive:volume-id";
+
+    private static final DateTimeFormatter BUCKET_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int INDEX_ENTRY_SIZE = 24;
+    private static final int BLOCK_HEADER_SIZE = 8;
+    private static final String VOLUME_ID_FILE = ".volume-id";
+    private static final String LOCK_FILE = ".lock";
+    private static final int VOLUME_CHECK_ATTEMPTS = 10;
+    private static final long VOLUME_CHECK_WAIT_MS = 500;
+
+    private final ChatMessageCodec chatMessageCodec;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${chat.archive.dir:./chat-archive}")
+    private String archiveDir;
+
+    @Value("${chat.archive.require-shared-volume:true}")
+    private boolean requireSharedVolume;
+
+    private final Map<String, Object> roomLocks = new ConcurrentHashMap<>();
+
+    /**
+     * 아카이브 디렉토리가 다른 노드와 같은 볼륨인지 확인
+     * 처음 시작한 노드가 볼륨 id 를 만들어 Redis 와 파일에 남기고, 이후 노드는 파일의 id 가 같은지 본다
+     */
+    @PostConstruct
+    private void verifySharedVolume() throws IOException, InterruptedException {
+        if (!requireSharedVolume) {
+            log.warn("채팅 아카이브 공유 볼륨 확인 생략: {}", archiveDir);
+            return;
+        }
+
+        Path root = Paths.get(archiveDir);
+        Files.createDirectories(root);
+        Path volumeIdFile = root.resolve(VOLUME_ID_FILE);
+
+        String candidate = UUID.randomUUID().toString();
+        boolean created = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(VOLUME_ID_KEY, candidate));
+        String volumeId = created ? candidate : redisTemplate.opsForValue().get(VOLUME_ID_KEY);
+
+        if (created) {
+            Files.writeString(volumeIdFile, volumeId, StandardCharsets.UTF_8);
+            return;
+        }
+
+        // 볼륨 id 를 만든 노드가 아직 파일을 쓰는 중일 수 있으므로 잠시 기다린다
+        for (int attempt = 0; attempt < VOLUME_CHECK_ATTEMPTS && !Files.exists(volumeIdFile); attempt++) {
+            Thread.sleep(VOLUME_CHECK_WAIT_MS);
+        }
+
+        String found = Files.exists(volumeIdFile) ? Files.readString(volumeIdFile, StandardCharsets.UTF_8).trim() : null;
+        if (!Objects.equals(volumeId, found)) {
+            throw new IllegalStateException("chat.archive.dir 이 다른 노드와 공유된 볼륨이 아닙니다: " + root.toAbsolutePath());
+        }
+    }
+
+    /**
+     * 메세지를 날짜별 세그먼트에 블록으로 추가하고, 아카이브에 들어 있는 id 목록(이번에 쓴 것 + 이미 있던 것)을 반환
+     * id 기준으로 멱등: 이미 보관된 id 는 다시 쓰지 않고 반환 목록에만 넣으므로, 보관 뒤 원본 삭제가 실패해도 다음 정리 때 지울 수 있다
+     * 보관 여부는 잠금을 잡은 뒤 인덱스를 다시 읽어서 판단한다 (다른 노드가 먼저 보관했을 수 있음)
+     */
+    public List<Long> append(String roomId, List<ChatMessage> messages) {
+        Map<String, List<ChatMessage>> buckets = messages.stream()
+                .filter(message -> message.getId() != null)
+                .collect(Collectors.groupingBy(this::bucketOf, TreeMap::new, Collectors.toList()));
+        if (buckets.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            return withRoomLock(roomId, () -> {
+                List<Long> archivedIds = new ArrayList<>();
+                for (Map.Entry<String, List<ChatMessage>> bucket : buckets.entrySet()) {
+                    Path segment = roomDir(roomId).resolve(bucket.getKey() + SEGMENT_SUFFIX);
+                    Set<Long> present = findArchivedIds(segment, bucket.getValue());
+
+                    List<ChatMessage> missing = bucket.getValue().stream()
+                            .filter(message -> !present.contains(message.getId()))
+                            .sorted(Comparator.comparing(ChatMessage::getId))
+                            .collect(Collectors.toList());
+                    if (!missing.isEmpty()) {
+                        writeBlock(segment, missing);
+                    }
+                    if (!present.isEmpty()) {
+                        log.debug("이미 보관된 메세지라서 아카이브 생략: {} {}건", roomId, present.size());
+                    }
+                    bucket.getValue().forEach(message -> archivedIds.add(message.getId()));
+                }
+                Collections.sort(archivedIds);
+                return archivedIds;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 아카이브 저장 실패: " + roomId, e);
+        }
+    }
+
+    /**
+     * before 보다 작은 id 의 메세지를 최신 순으로 최대 limit 개 조회
+     * 블록을 lastId 내림차순으로 읽으면서 limit 개를 모으고, 다음 블록의 lastId 가 모은 것 중 가장 작은 id 보다 작으면 멈춘다
+     * 세그먼트는 날짜 순이므로 한 세그먼트에서 더 채울 것이 없으면 이전 세그먼트도 보지 않는다
+     */
+    public List<ChatMessage> findBefore(String roomId, long before, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        PriorityQueue<ChatMessage> newest = new PriorityQueue<>(Comparator.comparing(ChatMessage::getId));
+        List<Path> segments = listSegments(roomId);
+
+        try {
+            for (int s = segments.size() - 1; s >= 0; s--) {
+                Path segment = segments.get(s);
+                List<IndexEntry> entries = readIndex(indexOf(segment)).stream()
+                        .filter(entry -> entry.firstId < before)
+                        .sorted(Comparator.comparingLong((IndexEntry entry) -> entry.lastId).reversed())
+                        .collect(Collectors.toList());
+                if (entries.isEmpty()) {
+                    continue;
+                }
+                if (isFilled(newest, limit, entries.get(0).lastId)) {
+                    break;
+                }
+
+                try (FileChannel segmentChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                    for (IndexEntry entry : entries) {
+                        if (isFilled(newest, limit, entry.lastId)) {
+                            break;
+                        }
+                        for (ChatMessage message : readBlock(segmentChannel, entry.offset)) {
+                            if (message.getId() < before) {
+                                newest.add(message);
+                                if (newest.size() > limit) {
+                                    newest.poll();
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("채팅 아카이브 조회 오류: {}", roomId, e);
+        }
+
+        List<ChatMessage> result = new ArrayList<>(newest);
+        result.sort(Comparator.comparing(ChatMessage::getId).reversed());
+        return result;
+    }
+
+    /**
+     * 보관된 모든 채팅방의 메세지를 블록 순서대로 전달 (검색 색인 재생성용)
+     */
+    public void scan(Consumer<ChatMessage> consumer) {
+        Path root = Paths.get(archiveDir);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        List<String> roomIds;
+        try (Stream<Path> dirs = Files.list(root)) {
+            roomIds = dirs.filter(Files::isDirectory)
+                    .map(dir -> dir.getFileName().toString())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("채팅 아카이브 목록 조회 오류", e);
+            return;
+        }
+
+        for (String roomId : roomIds) {
+            for (Path segment : listSegments(roomId)) {
+                try {
+                    List<IndexEntry> entries = readIndex(indexOf(segment));
+                    if (entries.isEmpty()) {
+                        continue;
+                    }
+
+                    try (FileChannel segmentChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                        for (IndexEntry entry : entries) {
+                            for (ChatMessage message : readBlock(segmentChannel, entry.offset)) {
+                                if (message.getRoomId() == null) {
+                                    message.setRoomId(roomId);
+                                }
+                                consumer.accept(message);
+                            }
+                        }
+                    }
+                } catch (IOException e) {
+                    log.error("채팅 아카이브 읽기 오류: {}", segment, e);
+                }
+            }
+        }
+    }
+
+    public void delete(String roomId) {
+        Path roomDir = roomDir(roomId);
+        if (!Files.isDirectory(roomDir)) {
+            roomLocks.remove(roomId);
+            return;
+        }
+
+        try {
+            withRoomLock(roomId, () -> {
+                try (Stream<Path> files = Files.list(roomDir)) {
+                    for (Path file : files.collect(Collectors.toList())) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+                return null;
+            });
+            Files.deleteIfExists(roomDir);
+        } catch (IOException e) {
+            log.debug("채팅 아카이브 삭제 생략: {}", roomId);
+        }
+        roomLocks.remove(roomId);
+    }
+
+    /**
+     * 채팅방 아카이브 쓰기 잠금 (노드 안: 채팅방별 모니터, 노드 사이: .lock 파일 잠금)
+     * 같은 JVM 에서 같은 파일을 두 번 잠그면 OverlappingFileLockException 이 나므로 모니터를 먼저 잡는다
+     */
+    private <T> T withRoomLock(String roomId, ArchiveAction<T> action) throws IOException {
+        Path roomDir = roomDir(roomId);
+        synchronized (roomLocks.computeIfAbsent(roomId, k -> new Object())) {
+            Files.createDirectories(roomDir);
+            try (FileChannel lockChannel = FileChannel.open(roomDir.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                return action.run();
+            }
+        }
+    }
+
+    /**
+     * candidates 중 세그먼트에 이미 보관된 id
+     * 범위(firstId ~ lastId)가 후보 id 와 겹치는 블록만 읽으므로, 새 메세지만 들어온 보통의 경우에는 인덱스만 읽는다
+     */
+    private Set<Long> findArchivedIds(Path segment, List<ChatMessage> candidates) throws IOException {
+        TreeSet<Long> candidateIds = candidates.stream()
+                .map(ChatMessage::getId)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        Set<Long> found = new HashSet<>();
+        List<IndexEntry> entries = readIndex(indexOf(segment));
+        if (entries.isEmpty()) {
+            return found;
+        }
+
+        try (FileChannel segmentChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            for (IndexEntry entry : entries) {
+                Long overlap = candidateIds.ceiling(entry.firstId);
+                if (overlap == null || overlap > entry.lastId) {
+                    continue;
+                }
+                for (ChatMessage message : readBlock(segmentChannel, entry.offset)) {
+                    if (candidateIds.contains(message.getId())) {
+                        found.add(message.getId());
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private void writeBlock(Path segment, List<ChatMessage> messages) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        for (ChatMessage message : messages) {
+            byte[] encoded = chatMessageCodec.serialize(message);
+            raw.write(ByteBuffer.allocate(4).putInt(encoded.length).array());
+            raw.write(encoded);
+        }
+
+        byte[] rawBytes = raw.toByteArray();
+        byte[] compressed = deflate(rawBytes);
+
+        long offset;
+        try (FileChannel segmentChannel = FileChannel.open(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            offset = segmentChannel.size();
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER_SIZE + compressed.length);
+            block.putInt(compressed.length).putInt(rawBytes.length).put(compressed).flip();
+            while (block.hasRemaining()) {
+                segmentChannel.write(block);
+            }
+            segmentChannel.force(false);
+        }
+
+        try (FileChannel indexChannel = FileChannel.open(indexOf(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+            entry.putLong(messages.get(0).getId())
+                    .putLong(messages.get(messages.size() - 1).getId())
+                    .putLong(offset)
+                    .flip();
+            while (entry.hasRemaining()) {
+                indexChannel.write(entry);
+            }
+            indexChannel.force(false);
+        }
+    }
+
+    private List<ChatMessage> readBlock(FileChannel segmentChannel, long offset) throws IOException {
+        MappedByteBuffer header = segmentChannel.map(FileChannel.MapMode.READ_ONLY, offset, BLOCK_HEADER_SIZE);
+        int compressedLength = header.getInt();
+        int rawLength = header.getInt();
+
+        MappedByteBuffer body = segmentChannel.map(FileChannel.MapMode.READ_ONLY,
+                offset + BLOCK_HEADER_SIZE, compressedLength);
+        ByteBuffer raw = ByteBuffer.wrap(inflate(body, rawLength));
+
+        List<ChatMessage> messages = new ArrayList<>();
+        while (raw.remaining() >= 4) {
+            byte[] encoded = new byte[raw.getInt()];
+            raw.get(encoded);
+            messages.add(chatMessageCodec.deserialize(encoded));
+        }
+        return messages;
+    }
+
+    /**
+     * limit 개를 모았고 lastId 까지의 블록에는 모은 것보다 새로운 메세지가 없는지
+     */
+    private static boolean isFilled(PriorityQueue<ChatMessage> newest, int limit, long lastId) {
+        return newest.size() >= limit && lastId < newest.peek().getId();
+    }
+
+    private static List<IndexEntry> readIndex(Path index) throws IOException {
+        if (!Files.exists(index)) {
+            return Collections.emptyList();
+        }
+
+        try (FileChannel indexChannel = FileChannel.open(index, StandardOpenOption.READ)) {
+            int entries = (int) (indexChannel.size() / INDEX_ENTRY_SIZE);
+            if (entries == 0) {
+                return Collections.emptyList();
+            }
+
+            MappedByteBuffer indexBuffer = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    (long) entries * INDEX_ENTRY_SIZE);
+            List<IndexEntry> result = new ArrayList<>(entries);
+            for (int e = 0; e < entries; e++) {
+                result.add(new IndexEntry(indexBuffer.getLong(), indexBuffer.getLong(), indexBuffer.getLong()));
+            }
+            return result;
+        }
+    }
+
+    private List<Path> listSegments(String roomId) {
+        Path roomDir = roomDir(roomId);
+        if (!Files.isDirectory(roomDir)) {
+            return Collections.emptyList();
+        }
+
+        try (Stream<Path> files = Files.list(roomDir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("채팅 아카이브 목록 조회 오류: {}", roomId, e);
+            return Collections.emptyList();
+        }
+    }
+
+    private String bucketOf(ChatMessage message) {
+        LocalDateTime sentAt = LocalDateTime.now();
+        if (message.getSentAt() != null) {
+            try {
+                sentAt = LocalDateTime.parse(message.getSentAt());
+            } catch (DateTimeParseException e) {
+                log.debug("메세지 시각 형식 오류, 현재 날짜로 보관: {}", message.getId());
+            }
+        }
+        return sentAt.format(BUCKET_FORMAT);
+    }
+
+    private Path roomDir(String roomId) {
+        return Paths.get(archiveDir, roomId);
+    }
+
+    private static Path indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return segment.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("채팅 아카이브 블록이 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 블록 인덱스 한 건 (블록의 첫/마지막 id, 세그먼트 안의 위치)
+     */
+    private static class IndexEntry {
+
+        private final long firstId;
+        private final long lastId;
+        private final long offset;
+
+        IndexEntry(long firstId, long lastId, long offset) {
+            this.firstId = firstId;
+            this.lastId = lastId;
+            this.offset = offset;
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface ArchiveAction<T> {
+
+        T run() throws IOException;
+
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.example.withdogandcat.domain.chat.persist;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.example.withdogandcat.domain.chat.redis.ChatMessageIdGenerator;
+import com.example.withdogandcat.domain.chat.search.ChatSearchIndex;
+import com.example.withdogandcat.domain.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageBatchWriter {
+
+    private static final int DELETE_CHUNK_SIZE = 500;
+
+    private final ChatArchive chatArchive;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatSearchIndex chatSearchIndex;
+    private final ChatMessageDeadLetter chatMessageDeadLetter;
+    private final ChatMessageIdGenerator chatMessageIdGenerator;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${chat.persist.retention-per-room:30}")
+    private int retentionPerRoom;
+
+    /**
+     * 모아둔 메세지를 multi-row INSERT 한 번으로 저장하고 저장한 행 수를 반환
+     * 보관 개수 정리는 메세지마다가 아니라 배치에 포함된 채팅방마다 한 번씩, 커밋이 끝난 뒤에 수행
+     * 발신자를 찾을 수 없는 메세지는 저장하지 않고 dead-letter 로 보낸다 (저장이 끝까지 성공한 경우에만, 예외가 나면 호출 측이 배치째 처리)
+     * 커밋 뒤의 부수 작업(afterWrite)은 오류를 던지지 않으므로 예외가 났다면 INSERT 는 커밋되지 않은 것이다
+     */
+    public int write(List<PendingChatMessage> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Long> userIds = findUserIds(batch);
+        List<PendingChatMessage> rows = new ArrayList<>(batch.size());
+        List<PendingChatMessage> unknownSenders = new ArrayList<>();
+        for (PendingChatMessage pending : batch) {
+            (userIds.containsKey(pending.getUserEmail()) ? rows : unknownSenders).add(pending);
+        }
+
+        if (!rows.isEmpty()) {
+            insert(rows, userIds);
+            afterWrite(rows);
+        }
+        chatMessageDeadLetter.add(unknownSenders, "sender-not-found", null);
+        return rows.size();
+    }
+
+    /**
+     * write 와 같지만 제약 조건 위반(중복 id, 삭제된 채팅방 등)이 나면 배치를 반씩 나눠 저장해서 위반한 행만 dead-letter 로 보낸다
+     * 이미 저장된 id 와 겹친 행(커밋 결과를 모르고 다시 저장한 경우)은 저장된 것으로 보고 넘어간다
+     * 그 밖의 오류(연결 실패 등)는 호출 측이 재시도할 수 있도록 그대로 던진다
+     */
+    public int writeIsolating(List<PendingChatMessage> batch) {
+        try {
+            return write(batch);
+
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() > 1) {
+                int middle = batch.size() / 2;
+                return writeIsolating(batch.subList(0, middle)) + writeIsolating(batch.subList(middle, batch.size()));
+            }
+
+            if (excludePersisted(batch).isEmpty()) {
+                log.debug("이미 저장된 채팅 메세지: {}", batch.get(0).getId());
+            } else {
+                chatMessageDeadLetter.add(batch, "constraint-violation", e);
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * 이미 chat_messages 에 저장된 id 를 뺀 목록
+     */
+    public List<PendingChatMessage> excludePersisted(List<PendingChatMessage> batch) {
+        List<Long> ids = batch.stream()
+                .map(PendingChatMessage::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return batch;
+        }
+
+        Set<Long> persistedIds = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM chat_messages WHERE id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")",
+                Long.class,
+                ids.toArray()));
+
+        return batch.stream()
+                .filter(pending -> !persistedIds.contains(pending.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private void insert(List<PendingChatMessage> rows, Map<String, Long> userIds) {
+        List<Object> params = new ArrayList<>(rows.size() * 7);
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO chat_messages (id, type, room_id, seq, user_id, message, created_at) VALUES ");
+
+        for (int i = 0; i < rows.size(); i++) {
+            PendingChatMessage pending = rows.get(i);
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?, ?)");
+            params.add(pending.getId());
+            params.add(pending.getType() != null ? pending.getType().name() : null);
+            params.add(pending.getRoomId());
+            params.add(pending.getSeq());
+            params.add(userIds.get(pending.getUserEmail()));
+            params.add(pending.getMessage());
+            params.add(Timestamp.valueOf(pending.getCreatedAt()));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql.toString(), params.toArray()));
+    }
+
+    /**
+     * 커밋이 끝난 뒤의 부수 작업: 저장된 최대 id 로 id 발급 floor 를 올리고, TALK 메세지를 모든 노드의 검색 색인(ChatSearchIndex)에 발행한 뒤
+     * 채팅방별 보관 개수 정리
+     * 여기서 난 오류를 던지면 호출 측이 이미 커밋된 행을 다시 INSERT 하게 되므로 기록만 하고 넘어간다
+     */
+    private void afterWrite(List<PendingChatMessage> rows) {
+        try {
+            rows.stream()
+                    .map(PendingChatMessage::getId)
+                    .filter(Objects::nonNull)
+                    .max(Long::compare)
+                    .ifPresent(chatMessageIdGenerator::raiseFloor);
+        } catch (Exception e) {
+            log.error("채팅 메세지 id floor 갱신 오류", e);
+        }
+
+        chatSearchIndex.publish(rows.stream()
+                .filter(pending -> pending.getType() == MessageType.TALK)
+                .map(this::toChatMessage)
+                .collect(Collectors.toList()));
+
+        Set<String> roomIds = rows.stream()
+                .map(PendingChatMessage::getRoomId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (String roomId : roomIds) {
+            try {
+                trimRoom(roomId);
+            } catch (Exception e) {
+                log.error("채팅방 메세지 보관 개수 정리 오류, 다음 저장 때 다시 정리: {}", roomId, e);
+            }
+        }
+    }
+
+    private ChatMessage toChatMessage(PendingChatMessage pending) {
+        ChatMessage message = new ChatMessage();
+        message.setId(pending.getId());
+        message.setSeq(pending.getSeq());
+        message.setType(pending.getType());
+        message.setRoomId(pending.getRoomId());
+        message.setSender(pending.getUserEmail());
+        message.setMessage(pending.getMessage());
+        message.setSentAt(pending.getCreatedAt().toString());
+        return message;
+    }
+
+    /**
+     * 채팅방별로 최신 retentionPerRoom 개만 남기고 정리 (트랜잭션 밖, 커밋된 행만 대상)
+     * 정리 대상은 먼저 아카이브(ChatArchive)에 보관한 뒤 아카이브에 들어 있는 id 만 삭제
+     * 보관은 id 기준으로 멱등이라 보관 뒤 삭제가 실패하거나 여러 노드가 같은 채팅방을 동시에 정리해도 다음 정리에서 그대로 이어진다
+     */
+    private void trimRoom(String roomId) {
+        List<ChatMessage> trimmed = jdbcTemplate.query(
+                "SELECT m.id, m.seq, m.type, m.message, m.created_at, u.email FROM chat_messages m "
+                        + "LEFT JOIN users u ON u.user_id = m.user_id "
+                        + "WHERE m.room_id = ? AND m.id < ("
+                        + "SELECT cutoff.id FROM (SELECT id FROM chat_messages WHERE room_id = ? "
+                        + "ORDER BY id DESC LIMIT 1 OFFSET " + (retentionPerRoom - 1) + ") AS cutoff) "
+                        + "ORDER BY m.id",
+                (rs, rowNum) -> {
+                    ChatMessage message = new ChatMessage();
+                    message.setId(rs.getLong("id"));
+                    message.setSeq(rs.getObject("seq") != null ? rs.getLong("seq") : null);
+                    message.setType(rs.getString("type") != null ? MessageType.valueOf(rs.getString("type")) : null);
+                    message.setRoomId(roomId);
+                    message.setSender(rs.getString("email"));
+                    message.setMessage(rs.getString("message"));
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    message.setSentAt(createdAt != null ? createdAt.toLocalDateTime().toString() : null);
+                    return message;
+                },
+                roomId, roomId);
+
+        if (trimmed.isEmpty()) {
+            return;
+        }
+
+        List<Long> archivedIds = chatArchive.append(roomId, trimmed);
+        for (int from = 0; from < archivedIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = archivedIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, archivedIds.size()));
+            List<Object> params = new ArrayList<>(chunk.size() + 1);
+            params.add(roomId);
+            params.addAll(chunk);
+            jdbcTemplate.update("DELETE FROM chat_messages WHERE room_id = ? AND id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")", params.toArray());
+        }
+    }
+
+    private Map<String, Long> findUserIds(List<PendingChatMessage> batch) {
+        List<String> emails = batch.stream()
+                .map(PendingChatMessage::getUserEmail)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<String, Long> userIds = new HashMap<>();
+        for (Object[] row : userRepository.findUserIdsByEmailIn(emails)) {
+            userIds.put((String) row[0], (Long) row[1]);
+        }
+        return userIds;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.example.withdogandcat.domain.chat.persist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageDeadLetter {
+
+    /**
+     * 끝까지 저장하지 못한 채팅 메세지를 버리지 않고 Redis 리스트(DEAD_LETTER_KEY)에 남긴다
+     * write-behind 저장과 Streams 저장이 같이 쓴다
+     */
+
+    public static final String DEAD_LETTER_KEY = "chat:persist:dead-letter";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private Counter failedCounter;
+    private Counter deadLetterCounter;
+
+    @PostConstruct
+    private void init() {
+        failedCounter = meterRegistry.counter("chat.persist.failed");
+        deadLetterCounter = meterRegistry.counter("chat.persist.dead-letter");
+    }
+
+    public void add(List<PendingChatMessage> messages, String reason, Exception cause) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        failedCounter.increment(messages.size());
+        log.error("채팅 메세지 저장 실패 ({}), dead-letter 로 이동: {}건", reason, messages.size(), cause);
+
+        try {
+            List<String> payloads = new ArrayList<>(messages.size());
+            for (PendingChatMessage pending : messages) {
+                payloads.add(objectMapper.writeValueAsString(pending));
+            }
+            redisTemplate.opsForList().rightPushAll(DEAD_LETTER_KEY, payloads);
+            deadLetterCounter.increment(messages.size());
+
+        } catch (Exception e) {
+            log.error("dead-letter 기록 오류, 메세지 id: {}",
+                    messages.stream().map(PendingChatMessage::getId).toList(), e);
+        }
+    }
+
+}
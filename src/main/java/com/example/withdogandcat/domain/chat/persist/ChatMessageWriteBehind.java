@@ -0,0 +1,245 @@
+package com.example.withdogandcat.domain.chat.persist;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageWriteBehind {
+
+    /**
+     * 채팅 메세지 비동기 저장(write-behind)
+     * 인바운드 스레드는 큐에 넣기만 하고, 전용 워커가 크기/시간 기준으로 모아서 배치 저장
+     * 저장 실패 시 일시적 오류는 backoff 재시도, 제약 조건 위반은 배치를 반씩 나눠 문제 행만 골라내고(ChatMessageBatchWriter.writeIsolating)
+     * 끝까지 실패한 메세지는 버리지 않고 dead-letter(ChatMessageDeadLetter)에 남긴다
+     */
+
+    private final MeterRegistry meterRegistry;
+    private final ChatMessageDeadLetter chatMessageDeadLetter;
+    private final ChatMessageBatchWriter chatMessageBatchWriter;
+
+    @Value("${chat.persist.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${chat.persist.batch-size:200}")
+    private int batchSize;
+
+    @Value("${chat.persist.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${chat.persist.offer-timeout-ms:20}")
+    private long offerTimeoutMs;
+
+    @Value("${chat.persist.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${chat.persist.retry.backoff-ms:100}")
+    private long retryBackoffMs;
+
+    @Value("${chat.persist.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<PendingChatMessage> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    private Counter enqueuedCounter;
+    private Counter backpressureCounter;
+    private Counter persistedCounter;
+    private Counter retryCounter;
+    private Counter discardedCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    private void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("chat.persist.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("chat.persist.queue.remaining", queue, BlockingQueue::remainingCapacity).register(meterRegistry);
+        enqueuedCounter = meterRegistry.counter("chat.persist.enqueued");
+        backpressureCounter = meterRegistry.counter("chat.persist.backpressure");
+        persistedCounter = meterRegistry.counter("chat.persist.persisted");
+        retryCounter = meterRegistry.counter("chat.persist.retry");
+        discardedCounter = meterRegistry.counter("chat.persist.discarded");
+        flushTimer = meterRegistry.timer("chat.persist.flush");
+
+        running = true;
+        worker = new Thread(this::drainLoop, "chat-write-behind");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 저장 요청
+     * 큐가 가득 차 대기 시간 안에 들어가지 못하면 호출 스레드에서 직접 저장 (backpressure)
+     */
+    public void enqueue(ChatMessage chatMessage, String userEmail) {
+        PendingChatMessage pending = PendingChatMessage.of(chatMessage, userEmail);
+
+        if (running) {
+            try {
+                if (queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    enqueuedCounter.increment();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        backpressureCounter.increment();
+        flush(List.of(pending));
+    }
+
+    /**
+     * 삭제되는 채팅방의 저장 대기 메세지를 큐에서 버린다 (삭제 후 다시 INSERT 되지 않도록)
+     * 워커가 이미 꺼내간 배치는 발신자/채팅방 삭제와 경합할 수 있어 저장 실패로 끝날 수 있다
+     */
+    public int discardRooms(Collection<String> roomIds) {
+        int discarded = 0;
+        for (Iterator<PendingChatMessage> it = queue.iterator(); it.hasNext(); ) {
+            if (roomIds.contains(it.next().getRoomId())) {
+                it.remove();
+                discarded++;
+            }
+        }
+        discardedCounter.increment(discarded);
+        return discarded;
+    }
+
+    private void drainLoop() {
+        List<PendingChatMessage> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingChatMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+
+                    PendingChatMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingChatMessage> batch) {
+        try {
+            flushTimer.record(() -> writeWithRetry(batch));
+        } catch (Exception e) {
+            chatMessageDeadLetter.add(batch, "flush-failed", e);
+        }
+    }
+
+    /**
+     * 일시적 오류는 backoff 하며 재시도 (제약 조건 위반은 writeIsolating 안에서 나눠 저장하므로 여기까지 오지 않는다)
+     * 나눠 저장하던 중 일부가 이미 커밋됐을 수 있으므로 재시도 전에 저장된 id 는 뺀다
+     */
+    private void writeWithRetry(List<PendingChatMessage> batch) {
+        long backoffMs = retryBackoffMs;
+        List<PendingChatMessage> remaining = batch;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                persistedCounter.increment(chatMessageBatchWriter.writeIsolating(remaining));
+                return;
+
+            } catch (Exception e) {
+                if (attempt >= retryMaxAttempts || !sleep(backoffMs)) {
+                    chatMessageDeadLetter.add(remaining, "retry-exhausted", e);
+                    return;
+                }
+                retryCounter.increment();
+                log.warn("채팅 메세지 배치 저장 재시도 ({}/{}): {}건", attempt, retryMaxAttempts, remaining.size());
+                backoffMs *= 2;
+                remaining = excludePersisted(remaining);
+            }
+        }
+    }
+
+    private List<PendingChatMessage> excludePersisted(List<PendingChatMessage> batch) {
+        try {
+            return chatMessageBatchWriter.excludePersisted(batch);
+        } catch (Exception e) {
+            // 조회도 실패하면 그대로 다시 시도 (이미 저장된 행은 writeIsolating 이 중복으로 걸러낸다)
+            log.debug("저장된 채팅 메세지 조회 실패, 배치 그대로 재시도: {}건", batch.size());
+            return batch;
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 종료 시 큐에 남은 메세지를 모두 저장
+     */
+    @PreDestroy
+    private void shutdown() {
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (worker.isAlive()) {
+            log.warn("채팅 메세지 저장 워커 종료 대기 시간 초과, 남은 메세지: {}건", queue.size());
+            return;
+        }
+
+        List<PendingChatMessage> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            flush(rest);
+        }
+    }
+
+}
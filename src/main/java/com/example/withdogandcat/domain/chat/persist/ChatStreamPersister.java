@@ -0,0 +1,316 @@
+package com.example.withdogandcat.domain.chat.persist;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.redis.ChatNodeIdentity;
+import com.example.withdogandcat.domain.chat.redis.ChatStreamTransport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatStreamPersister {
+
+    /**
+     * Streams 전송 방식(chat.transport=streams)의 MySQL 저장
+     * 새 메세지가 쌓인 채팅방(DIRTY_STREAMS_KEY)만 꺼내서 컨슈머 그룹으로 XREADGROUP -> 배치 저장 -> XACK
+     * 저장에 실패하거나 노드가 죽어서 ACK 되지 않은 메세지는 claim-idle-ms 가 지나면 다른 노드가 XCLAIM 으로 가져가 다시 저장
+     * 이미 저장된 뒤 ACK 만 못 한 경우를 위해 다시 가져온 메세지는 저장 전에 id 중복을 확인한다
+     * 저장은 write-behind 와 같이 ChatMessageBatchWriter.writeIsolating 으로 해서 제약 위반 행만 dead-letter 로 보내고
+     * 여러 채팅방이 섞인 배치의 나머지는 저장/ACK 한다
+     */
+
+    private final MeterRegistry meterRegistry;
+    private final ChatNodeIdentity chatNodeIdentity;
+    private final ChatStreamTransport chatStreamTransport;
+    private final ChatMessageBatchWriter chatMessageBatchWriter;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${chat.stream.persist.rooms-per-poll:100}")
+    private int roomsPerPoll;
+
+    @Value("${chat.stream.persist.batch-size:200}")
+    private int batchSize;
+
+    @Value("${chat.stream.persist.claim-idle-ms:60000}")
+    private long claimIdleMs;
+
+    private Counter persistedCounter;
+    private Counter failedCounter;
+    private Counter claimedCounter;
+    private Counter lostCounter;
+
+    @PostConstruct
+    private void init() {
+        persistedCounter = meterRegistry.counter("chat.stream.persisted");
+        failedCounter = meterRegistry.counter("chat.stream.persist.failed");
+        claimedCounter = meterRegistry.counter("chat.stream.claimed");
+        lostCounter = meterRegistry.counter("chat.stream.lost");
+    }
+
+    @Scheduled(fixedDelayString = "${chat.stream.persist.interval-ms:200}")
+    public void poll() {
+        if (!chatStreamTransport.isEnabled()) {
+            return;
+        }
+
+        List<String> roomIds = redisTemplate.opsForSet().pop(ChatStreamTransport.DIRTY_STREAMS_KEY, roomsPerPoll);
+        if (roomIds == null || roomIds.isEmpty()) {
+            return;
+        }
+
+        Consumer consumer = Consumer.from(ChatStreamTransport.PERSIST_GROUP, chatNodeIdentity.getNodeId());
+        StreamReadOptions readOptions = StreamReadOptions.empty().count(batchSize);
+        List<Object> results = pipeline(connection -> roomIds.forEach(roomId -> connection.streamCommands()
+                .xReadGroup(consumer, readOptions,
+                        StreamOffset.create(bytes(ChatStreamTransport.streamKey(roomId)), ReadOffset.lastConsumed()))));
+
+        List<ByteRecord> records = new ArrayList<>();
+        List<String> retryRoomIds = new ArrayList<>();
+        for (int i = 0; i < roomIds.size(); i++) {
+            String roomId = roomIds.get(i);
+            Object result = i < results.size() ? results.get(i) : null;
+
+            if (result instanceof Throwable error) {
+                if (isNoGroup(error)) {
+                    if (recreateGroup(roomId)) {
+                        retryRoomIds.add(roomId);
+                    }
+                } else {
+                    retryRoomIds.add(roomId);
+                    log.error("채팅 스트림 저장 읽기 오류: {}", roomId, error);
+                }
+                continue;
+            }
+
+            if (result instanceof List<?> roomRecords) {
+                roomRecords.forEach(record -> records.add((ByteRecord) record));
+                if (roomRecords.size() >= batchSize) {
+                    retryRoomIds.add(roomId);
+                }
+            }
+        }
+
+        if (!retryRoomIds.isEmpty()) {
+            redisTemplate.opsForSet().add(ChatStreamTransport.DIRTY_STREAMS_KEY, retryRoomIds.toArray(new String[0]));
+        }
+        if (!records.isEmpty()) {
+            persist(records, false);
+        }
+    }
+
+    /**
+     * 컨슈머 그룹이 없는 스트림 처리
+     * 스트림이 남아 있으면 처음부터 읽도록 그룹을 다시 만들고, 스트림이 없으면(채팅방 삭제 등) 저장 대상에서 뺀다
+     */
+    private boolean recreateGroup(String roomId) {
+        byte[] streamKey = bytes(ChatStreamTransport.streamKey(roomId));
+        try {
+            Boolean exists = redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.keyCommands().exists(streamKey));
+            if (Boolean.TRUE.equals(exists)) {
+                redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands()
+                        .xGroupCreate(streamKey, ChatStreamTransport.PERSIST_GROUP, ReadOffset.from("0")));
+                log.warn("채팅 스트림 컨슈머 그룹 재생성: {}", roomId);
+                return true;
+            }
+        } catch (Exception e) {
+            // BUSYGROUP 은 다른 노드가 먼저 만든 경우이므로 그대로 다시 읽으면 된다
+            if (!isBusyGroup(e)) {
+                log.error("채팅 스트림 컨슈머 그룹 재생성 오류: {}", roomId, e);
+            }
+            return true;
+        }
+
+        redisTemplate.opsForSet().remove(ChatStreamTransport.STREAMS_KEY, roomId);
+        return false;
+    }
+
+    /**
+     * 오래 ACK 되지 않은 메세지를 이 노드로 가져와서 다시 저장
+     * 채팅방을 rooms-per-poll 개씩 나눠 XPENDING, XCLAIM 을 각각 파이프라인 한 번으로 처리
+     * 스트림 길이 제한으로 이미 잘려 나간 메세지는 복구할 수 없으므로 ACK 해서 정리한다
+     */
+    @Scheduled(fixedDelayString = "${chat.stream.persist.claim-interval-ms:30000}")
+    public void reclaim() {
+        if (!chatStreamTransport.isEnabled()) {
+            return;
+        }
+
+        Set<String> members = redisTemplate.opsForSet().members(ChatStreamTransport.STREAMS_KEY);
+        if (members == null || members.isEmpty()) {
+            return;
+        }
+
+        List<String> roomIds = new ArrayList<>(members);
+        for (int from = 0; from < roomIds.size(); from += roomsPerPoll) {
+            try {
+                reclaim(roomIds.subList(from, Math.min(from + roomsPerPoll, roomIds.size())));
+            } catch (Exception e) {
+                log.error("채팅 스트림 미처리 메세지 회수 오류", e);
+            }
+        }
+    }
+
+    private void reclaim(List<String> roomIds) {
+        List<Object> pendingResults = pipeline(connection -> roomIds.forEach(roomId -> connection.streamCommands()
+                .xPending(bytes(ChatStreamTransport.streamKey(roomId)), ChatStreamTransport.PERSIST_GROUP,
+                        Range.unbounded(), (long) batchSize)));
+
+        Map<String, RecordId[]> idleIdsByRoom = new LinkedHashMap<>();
+        for (int i = 0; i < roomIds.size() && i < pendingResults.size(); i++) {
+            if (pendingResults.get(i) instanceof PendingMessages pendingMessages) {
+                RecordId[] idleIds = pendingMessages.stream()
+                        .filter(pending -> pending.getElapsedTimeSinceLastDelivery().toMillis() >= claimIdleMs)
+                        .map(PendingMessage::getId)
+                        .toArray(RecordId[]::new);
+                if (idleIds.length > 0) {
+                    idleIdsByRoom.put(roomIds.get(i), idleIds);
+                }
+            }
+        }
+        if (idleIdsByRoom.isEmpty()) {
+            return;
+        }
+
+        List<String> claimRoomIds = new ArrayList<>(idleIdsByRoom.keySet());
+        List<Object> claimResults = pipeline(connection -> claimRoomIds.forEach(roomId -> connection.streamCommands()
+                .xClaim(bytes(ChatStreamTransport.streamKey(roomId)), ChatStreamTransport.PERSIST_GROUP,
+                        chatNodeIdentity.getNodeId(),
+                        RedisStreamCommands.XClaimOptions.minIdle(Duration.ofMillis(claimIdleMs)).ids(idleIdsByRoom.get(roomId)))));
+
+        List<ByteRecord> claimed = new ArrayList<>();
+        Map<String, RecordId[]> trimmedIdsByRoom = new LinkedHashMap<>();
+        for (int i = 0; i < claimRoomIds.size() && i < claimResults.size(); i++) {
+            if (!(claimResults.get(i) instanceof List<?> roomRecords)) {
+                continue;
+            }
+
+            Set<RecordId> claimedIds = new HashSet<>();
+            roomRecords.forEach(record -> {
+                claimed.add((ByteRecord) record);
+                claimedIds.add(((ByteRecord) record).getId());
+            });
+
+            String roomId = claimRoomIds.get(i);
+            RecordId[] trimmedIds = Arrays.stream(idleIdsByRoom.get(roomId))
+                    .filter(id -> !claimedIds.contains(id))
+                    .toArray(RecordId[]::new);
+            if (trimmedIds.length > 0) {
+                trimmedIdsByRoom.put(roomId, trimmedIds);
+            }
+        }
+
+        if (!trimmedIdsByRoom.isEmpty()) {
+            pipeline(connection -> trimmedIdsByRoom.forEach((roomId, ids) -> connection.streamCommands()
+                    .xAck(bytes(ChatStreamTransport.streamKey(roomId)), ChatStreamTransport.PERSIST_GROUP, ids)));
+            int trimmed = trimmedIdsByRoom.values().stream().mapToInt(ids -> ids.length).sum();
+            lostCounter.increment(trimmed);
+            log.warn("스트림에서 잘려 저장하지 못한 채팅 메세지: {}건", trimmed);
+        }
+
+        if (!claimed.isEmpty()) {
+            claimedCounter.increment(claimed.size());
+            persist(claimed, true);
+        }
+    }
+
+    /**
+     * 명령을 파이프라인으로 보내고 명령별 결과를 반환 (실패한 명령 자리에는 예외가 들어간다)
+     */
+    private List<Object> pipeline(java.util.function.Consumer<RedisConnection> commands) {
+        try {
+            return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                commands.accept(connection);
+                return null;
+            }, null);
+        } catch (RedisPipelineException e) {
+            return e.getPipelineResult();
+        }
+    }
+
+    private static boolean isNoGroup(Throwable error) {
+        return hasMessage(error, "NOGROUP");
+    }
+
+    private static boolean isBusyGroup(Throwable error) {
+        return hasMessage(error, "BUSYGROUP");
+    }
+
+    private static boolean hasMessage(Throwable error, String code) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(code)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 레코드를 배치 저장하고 성공하면 스트림별로 ACK (실패하면 ACK 하지 않고 회수 대상으로 남긴다)
+     */
+    private void persist(List<ByteRecord> records, boolean reclaimed) {
+        List<PendingChatMessage> batch = new ArrayList<>(records.size());
+        Map<String, List<RecordId>> acks = new LinkedHashMap<>();
+
+        for (ByteRecord record : records) {
+            String streamKey = new String(record.getStream(), StandardCharsets.UTF_8);
+            acks.computeIfAbsent(streamKey, k -> new ArrayList<>()).add(record.getId());
+
+            ChatMessage message = chatStreamTransport.decode(record);
+            String userEmail = ChatStreamTransport.userEmailOf(record);
+            if (message == null || userEmail == null) {
+                log.warn("채팅 스트림 레코드를 읽을 수 없어 저장 생략: {}", record.getId());
+                continue;
+            }
+
+            if (message.getRoomId() == null) {
+                message.setRoomId(ChatStreamTransport.roomIdOf(record.getStream()));
+            }
+            LocalDateTime createdAt = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(record.getId().getTimestamp()), ZoneId.systemDefault());
+            batch.add(PendingChatMessage.of(message, userEmail, createdAt));
+        }
+
+        try {
+            if (reclaimed) {
+                batch = chatMessageBatchWriter.excludePersisted(batch);
+            }
+            persistedCounter.increment(chatMessageBatchWriter.writeIsolating(batch));
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("채팅 스트림 배치 저장 오류: {}건", batch.size(), e);
+            return;
+        }
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            acks.forEach((streamKey, ids) -> connection.streamCommands()
+                    .xAck(bytes(streamKey), ChatStreamTransport.PERSIST_GROUP, ids.toArray(new RecordId[0])));
+            return null;
+        });
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
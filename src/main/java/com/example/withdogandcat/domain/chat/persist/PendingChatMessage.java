@@ -0,0 +1,44 @@
+package com.example.withdogandcat.domain.chat.persist;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class PendingChatMessage {
+
+    /**
+     * write-behind 큐에 쌓이는 저장 대기 메세지
+     * 큐에 들어간 뒤 원본 ChatMessage가 바뀌어도 영향받지 않도록 값을 복사해둔다
+     */
+
+    private final Long id;
+    private final MessageType type;
+    private final String roomId;
+    private final Long seq;
+    private final String userEmail;
+    private final String message;
+    private final LocalDateTime createdAt;
+
+    public static PendingChatMessage of(ChatMessage chatMessage, String userEmail) {
+        return of(chatMessage, userEmail, LocalDateTime.now());
+    }
+
+    public static PendingChatMessage of(ChatMessage chatMessage, String userEmail, LocalDateTime createdAt) {
+        return new PendingChatMessage(
+                chatMessage.getId(),
+                chatMessage.getType(),
+                chatMessage.getRoomId(),
+                chatMessage.getSeq(),
+                userEmail,
+                chatMessage.getMessage(),
+                createdAt
+        );
+    }
+
+}
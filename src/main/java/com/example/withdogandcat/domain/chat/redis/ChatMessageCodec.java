@@ -0,0 +1,170 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+@Component
+@RequiredArgsConstructor
+public class ChatMessageCodec implements RedisSerializer<ChatMessage> {
+
+    /**
+     * pub/sub 채널과 chatRoom:{roomId}:messages 에 쓰는 ChatMessage 바이너리 포맷
+     *
+     * [0] MAGIC, [1] VERSION
+     * [2..9] id (long, 0 이면 null)
+     * [10..17] seq (long, 0 이면 null) - 채팅방 버퍼 추가 스크립트가 이 자리를 직접 채운다
+     * [18] type (ordinal + 1, 0 이면 null)
+     * 이후 roomId, sender, message, sentAt, originNodeId 순서로 (varint 길이 + 1, 0 이면 null) + UTF-8
+     *
+     * MessageType 은 ordinal 로 저장하므로 새 값은 항상 뒤에 추가해야 한다
+     * VERSION 1 (seq 없음) 도 읽을 수 있다
+     * 첫 바이트가 '{' 이면 이전 JSON 포맷으로 보고 Jackson 으로 읽는다 (배포 전환 중 남아있는 데이터)
+     */
+
+    public static final byte MAGIC = (byte) 0xC7;
+    public static final byte VERSION = 2;
+    public static final int SEQ_OFFSET = 10;
+
+    private static final byte VERSION_WITHOUT_SEQ = 1;
+    private static final int HEADER_SIZE = 19;
+    private static final MessageType[] TYPES = MessageType.values();
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public byte[] serialize(ChatMessage message) throws SerializationException {
+        if (message == null) {
+            return new byte[0];
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_SIZE + 64 + length(message.getMessage()));
+        out.write(MAGIC);
+        out.write(VERSION);
+        writeLong(out, message.getId() != null ? message.getId() : 0L);
+        writeLong(out, message.getSeq() != null ? message.getSeq() : 0L);
+        out.write(message.getType() != null ? message.getType().ordinal() + 1 : 0);
+
+        writeString(out, message.getRoomId());
+        writeString(out, message.getSender());
+        writeString(out, message.getMessage());
+        writeString(out, message.getSentAt());
+        writeString(out, message.getOriginNodeId());
+        return out.toByteArray();
+    }
+
+    @Override
+    public ChatMessage deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if (bytes[0] == '{') {
+            try {
+                return objectMapper.readValue(bytes, ChatMessage.class);
+            } catch (IOException e) {
+                throw new SerializationException("JSON 채팅 메세지를 읽을 수 없습니다.", e);
+            }
+        }
+
+        if (bytes[0] != MAGIC || bytes.length < 2) {
+            throw new SerializationException("채팅 메세지 포맷이 아닙니다.");
+        }
+        if (bytes[1] != VERSION && bytes[1] != VERSION_WITHOUT_SEQ) {
+            throw new SerializationException("지원하지 않는 채팅 메세지 버전: " + bytes[1]);
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+            ChatMessage message = new ChatMessage();
+
+            long id = buffer.getLong();
+            message.setId(id != 0 ? id : null);
+
+            if (bytes[1] != VERSION_WITHOUT_SEQ) {
+                long seq = buffer.getLong();
+                message.setSeq(seq != 0 ? seq : null);
+            }
+
+            int type = buffer.get() & 0xFF;
+            message.setType(type != 0 ? TYPES[type - 1] : null);
+
+            message.setRoomId(readString(buffer));
+            message.setSender(readString(buffer));
+            message.setMessage(readString(buffer));
+            message.setSentAt(readString(buffer));
+            message.setOriginNodeId(readString(buffer));
+            return message;
+
+        } catch (RuntimeException e) {
+            throw new SerializationException("채팅 메세지를 읽을 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return ChatMessage.class;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() * 3 : 0;
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        if (length == 0) {
+            return null;
+        }
+
+        String value = new String(buffer.array(), buffer.position(), length - 1, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length - 1);
+        return value;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("잘못된 길이 값입니다.");
+    }
+
+}
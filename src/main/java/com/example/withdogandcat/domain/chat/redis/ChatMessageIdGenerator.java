@@ -0,0 +1,96 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import com.example.withdogandcat.global.exception.BaseException;
+import com.example.withdogandcat.global.exception.BaseResponseStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageIdGenerator {
+
+    /**
+     * 채팅 메세지 id 발급
+     * Redis 버퍼와 MySQL(chat_messages.id)이 같은 id를 쓰도록 발행 시점에 미리 발급한다
+     * 카운터 키가 유실되면 저장이 끝난 최대 id(floor) + reseed-gap 부터 다시 발급해서 기존 id와 겹치지 않게 한다
+     */
+
+    public static final String MESSAGE_ID_KEY = "chat:message:id";
+    public static final String MESSAGE_ID_FLOOR_KEY = "chat:message:id:floor";
+
+    private static final RedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "if current < tonumber(ARGV[1]) then redis.call('SET', KEYS[1], ARGV[1]) return tonumber(ARGV[1]) end " +
+            "return current",
+            Long.class);
+
+    /**
+     * 카운터 키가 없으면 floor + gap 으로 다시 맞춘 뒤 INCR
+     * floor 까지 없으면 nil 을 반환해서 호출 측이 DB 기준으로 다시 맞추게 한다
+     */
+    private static final RedisScript<Long> NEXT_ID_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "  local floor = redis.call('GET', KEYS[2]) " +
+            "  if not floor then return false end " +
+            "  redis.call('SET', KEYS[1], tonumber(floor) + tonumber(ARGV[1])) " +
+            "end " +
+            "return redis.call('INCR', KEYS[1])",
+            Long.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${chat.message.id.reseed-gap:100000}")
+    private long reseedGap;
+
+    /**
+     * 기존 테이블의 최대 id 보다 작은 값이 발급되지 않도록 시작 시 카운터를 맞춘다
+     */
+    @PostConstruct
+    private void init() {
+        seedFromDatabase(0);
+    }
+
+    public Long nextId() {
+        Long id = redisTemplate.execute(NEXT_ID_SCRIPT,
+                Arrays.asList(MESSAGE_ID_KEY, MESSAGE_ID_FLOOR_KEY), String.valueOf(reseedGap));
+        if (id != null) {
+            return id;
+        }
+
+        // 카운터와 floor 가 모두 유실된 경우 (Redis 초기화 등): 아직 저장되지 않은 id 를 고려해 gap 만큼 건너뛴다
+        log.warn("채팅 메세지 id 카운터 유실, DB 기준으로 다시 설정");
+        seedFromDatabase(reseedGap);
+        id = redisTemplate.execute(NEXT_ID_SCRIPT,
+                Arrays.asList(MESSAGE_ID_KEY, MESSAGE_ID_FLOOR_KEY), String.valueOf(reseedGap));
+        if (id == null) {
+            throw new BaseException(BaseResponseStatus.REDIS_ERROR);
+        }
+        return id;
+    }
+
+    /**
+     * 저장이 끝난 id 로 floor 를 올린다 (낮아지지는 않음)
+     */
+    public void raiseFloor(long persistedId) {
+        redisTemplate.execute(SEED_SCRIPT, Collections.singletonList(MESSAGE_ID_FLOOR_KEY), String.valueOf(persistedId));
+    }
+
+    private void seedFromDatabase(long gap) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM chat_messages", Long.class);
+        raiseFloor(maxId);
+        redisTemplate.execute(SEED_SCRIPT, Collections.singletonList(MESSAGE_ID_KEY), String.valueOf(maxId + gap));
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Getter
+@Component
+public class ChatNodeIdentity {
+
+    /**
+     * 노드(인스턴스) 식별자
+     * 자신이 발행한 메세지가 Redis를 거쳐 되돌아오면 버리기 위해 사용
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public boolean isLocal(String originNodeId) {
+        return nodeId.equals(originNodeId);
+    }
+
+}
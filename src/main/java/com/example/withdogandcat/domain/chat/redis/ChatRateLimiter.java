@@ -0,0 +1,274 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import com.example.withdogandcat.global.exception.BaseException;
+import com.example.withdogandcat.global.exception.BaseResponseStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class ChatRateLimiter {
+
+    /**
+     * 채팅 메세지 전송 빈도 제한 (사용자별, 채팅방별 토큰 버킷)
+     * 두 버킷은 Lua 스크립트 한 번으로 함께 계산해서 모든 노드에 같은 한도가 적용된다
+     * 한 번에 토큰 여러 개를 미리 받아(lease) 로컬에서 소비하고, 거절되면 재시도 가능 시각까지 로컬에서 바로 거절
+     * -> 평소에는 메세지마다 Redis 를 다녀오지 않는다
+     * 다 쓰지 못하고 만료된 묶음의 토큰은 두 버킷에 돌려준다 (다음 요청에 실어 보내거나 주기적으로 모아서 반환)
+     * -> 묶음 단위로 받아도 채팅방 버킷이 실제 전송량보다 빨리 줄지 않는다
+     */
+
+    private static final String REFILL_FUNCTION =
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local function refill(key, rate, burst) " +
+            "  local bucket = redis.call('HMGET', key, 'tokens', 'ts') " +
+            "  local tokens = tonumber(bucket[1]) " +
+            "  local ts = tonumber(bucket[2]) " +
+            "  if tokens == nil then return burst end " +
+            "  return math.min(burst, tokens + math.max(0, now - ts) * rate / 1000) " +
+            "end " +
+            "local userRate, userBurst = tonumber(ARGV[1]), tonumber(ARGV[2]) " +
+            "local roomRate, roomBurst = tonumber(ARGV[3]), tonumber(ARGV[4]) ";
+
+    /**
+     * ARGV[7]: 만료된 이전 묶음에서 돌려줄 토큰 수
+     */
+    private static final RedisScript<List> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            REFILL_FUNCTION +
+            "local refund = tonumber(ARGV[7]) " +
+            "local userTokens = math.min(userBurst, refill(KEYS[1], userRate, userBurst) + refund) " +
+            "local roomTokens = math.min(roomBurst, refill(KEYS[2], roomRate, roomBurst) + refund) " +
+            "local grant = math.max(0, math.min(math.floor(userTokens), math.floor(roomTokens), tonumber(ARGV[5]))) " +
+            "userTokens = userTokens - grant " +
+            "roomTokens = roomTokens - grant " +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(userTokens), 'ts', now) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[6]) " +
+            "redis.call('HSET', KEYS[2], 'tokens', tostring(roomTokens), 'ts', now) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[6]) " +
+            "local retryAfter = 0 " +
+            "if grant == 0 then " +
+            "  retryAfter = math.ceil(math.max((1 - userTokens) * 1000 / userRate, (1 - roomTokens) * 1000 / roomRate, 1)) " +
+            "end " +
+            "return {grant, retryAfter}",
+            List.class);
+
+    /**
+     * KEYS: (사용자 버킷, 채팅방 버킷) 쌍, ARGV[6..]: 쌍마다 돌려줄 토큰 수
+     */
+    private static final RedisScript<Long> REFUND_SCRIPT = new DefaultRedisScript<>(
+            REFILL_FUNCTION +
+            "for i = 1, #KEYS, 2 do " +
+            "  local refund = tonumber(ARGV[6 + (i - 1) / 2]) " +
+            "  local userTokens = math.min(userBurst, refill(KEYS[i], userRate, userBurst) + refund) " +
+            "  local roomTokens = math.min(roomBurst, refill(KEYS[i + 1], roomRate, roomBurst) + refund) " +
+            "  redis.call('HSET', KEYS[i], 'tokens', tostring(userTokens), 'ts', now) " +
+            "  redis.call('PEXPIRE', KEYS[i], ARGV[5]) " +
+            "  redis.call('HSET', KEYS[i + 1], 'tokens', tostring(roomTokens), 'ts', now) " +
+            "  redis.call('PEXPIRE', KEYS[i + 1], ARGV[5]) " +
+            "end " +
+            "return #KEYS / 2",
+            Long.class);
+
+    private final MeterRegistry meterRegistry;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${chat.rate-limit.user.per-second:2}")
+    private double userRate;
+
+    @Value("${chat.rate-limit.user.burst:5}")
+    private int userBurst;
+
+    @Value("${chat.rate-limit.room.per-second:30}")
+    private double roomRate;
+
+    @Value("${chat.rate-limit.room.burst:60}")
+    private int roomBurst;
+
+    @Value("${chat.rate-limit.lease-size:3}")
+    private int leaseSize;
+
+    @Value("${chat.rate-limit.lease-ttl-ms:1000}")
+    private long leaseTtlMs;
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private Counter localCounter;
+    private Counter remoteCounter;
+    private Counter rejectedCounter;
+    private Counter refundedCounter;
+
+    @PostConstruct
+    private void init() {
+        localCounter = meterRegistry.counter("chat.rate-limit.acquire", "source", "local");
+        remoteCounter = meterRegistry.counter("chat.rate-limit.acquire", "source", "redis");
+        rejectedCounter = meterRegistry.counter("chat.rate-limit.rejected");
+        refundedCounter = meterRegistry.counter("chat.rate-limit.refunded");
+    }
+
+    /**
+     * 토큰 하나 사용, 한도를 넘으면 CHAT_RATE_LIMITED
+     */
+    public void acquire(String userEmail, String roomId) {
+        String leaseKey = userEmail + ":" + roomId;
+        long now = System.currentTimeMillis();
+
+        Lease lease = leases.get(leaseKey);
+        int refund = 0;
+        if (lease != null) {
+            Boolean local = lease.tryConsume(now);
+            if (Boolean.TRUE.equals(local)) {
+                localCounter.increment();
+                return;
+            }
+            if (Boolean.FALSE.equals(local)) {
+                rejectedCounter.increment();
+                throw new BaseException(BaseResponseStatus.CHAT_RATE_LIMITED);
+            }
+            refund = lease.drain();
+        }
+
+        List<?> result = redisTemplate.execute(ACQUIRE_SCRIPT,
+                List.of(userKey(userEmail), roomKey(roomId)),
+                String.valueOf(userRate), String.valueOf(userBurst),
+                String.valueOf(roomRate), String.valueOf(roomBurst),
+                String.valueOf(leaseSize), String.valueOf(bucketTtlMs()), String.valueOf(refund));
+
+        long granted = result != null ? ((Number) result.get(0)).longValue() : 0;
+        long retryAfter = result != null ? ((Number) result.get(1)).longValue() : 0;
+        remoteCounter.increment();
+
+        if (granted <= 0) {
+            leases.put(leaseKey, Lease.denied(now + retryAfter));
+            rejectedCounter.increment();
+            throw new BaseException(BaseResponseStatus.CHAT_RATE_LIMITED);
+        }
+
+        if (granted > 1) {
+            leases.put(leaseKey, Lease.granted((int) granted - 1, now + leaseTtlMs));
+        } else {
+            leases.remove(leaseKey);
+        }
+    }
+
+    /**
+     * 만료된 묶음을 정리하고 쓰지 않은 토큰을 한 번에 돌려준다 (다시 보내지 않는 사용자의 토큰이 묶여 있지 않도록)
+     */
+    @Scheduled(fixedDelayString = "${chat.rate-limit.lease-ttl-ms:1000}")
+    public void refundExpiredLeases() {
+        long now = System.currentTimeMillis();
+        List<String> keys = new ArrayList<>();
+        List<String> refunds = new ArrayList<>();
+
+        for (Map.Entry<String, Lease> entry : leases.entrySet()) {
+            Lease lease = entry.getValue();
+            if (!lease.isExpired(now) || !leases.remove(entry.getKey(), lease)) {
+                continue;
+            }
+
+            int unused = lease.drain();
+            if (unused > 0) {
+                int separator = entry.getKey().lastIndexOf(':');
+                keys.add(userKey(entry.getKey().substring(0, separator)));
+                keys.add(roomKey(entry.getKey().substring(separator + 1)));
+                refunds.add(String.valueOf(unused));
+            }
+        }
+
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>(refunds.size() + 5);
+        args.add(String.valueOf(userRate));
+        args.add(String.valueOf(userBurst));
+        args.add(String.valueOf(roomRate));
+        args.add(String.valueOf(roomBurst));
+        args.add(String.valueOf(bucketTtlMs()));
+        args.addAll(refunds);
+        redisTemplate.execute(REFUND_SCRIPT, keys, args.toArray());
+        refundedCounter.increment(refunds.stream().mapToInt(Integer::parseInt).sum());
+    }
+
+    private long bucketTtlMs() {
+        double slowestRefill = Math.min(userRate, roomRate);
+        return (long) Math.ceil(Math.max(userBurst, roomBurst) * 1000 / slowestRefill) + 1000;
+    }
+
+    private static String userKey(String userEmail) {
+        return "chat:rate:user:" + userEmail;
+    }
+
+    private static String roomKey(String roomId) {
+        return "chat:rate:room:" + roomId;
+    }
+
+    /**
+     * 로컬 토큰 묶음 (deniedUntil 이 있으면 그 시각까지 거절)
+     */
+    static class Lease {
+
+        private int remaining;
+        private final long expiresAt;
+        private final boolean denied;
+
+        private Lease(int remaining, long expiresAt, boolean denied) {
+            this.remaining = remaining;
+            this.expiresAt = expiresAt;
+            this.denied = denied;
+        }
+
+        static Lease granted(int remaining, long expiresAt) {
+            return new Lease(remaining, expiresAt, false);
+        }
+
+        static Lease denied(long until) {
+            return new Lease(0, until, true);
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        /**
+         * 남은 토큰을 비우고 그 수를 반환 (다음 요청과 주기적인 정리 중 한 곳에서만 돌려주도록)
+         */
+        synchronized int drain() {
+            int unused = remaining;
+            remaining = 0;
+            return unused;
+        }
+
+        /**
+         * true: 로컬 토큰 사용, false: 로컬에서 거절, null: Redis 확인 필요
+         */
+        synchronized Boolean tryConsume(long now) {
+            if (isExpired(now)) {
+                return null;
+            }
+            if (denied) {
+                return false;
+            }
+            if (remaining > 0) {
+                remaining--;
+                return true;
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatRoomSequence {
+
+    /**
+     * 채팅방 순번 카운터(chatRoom:{roomId}:seq) 관리
+     * 순번을 발급하는 스크립트(RecentMessageBuffer, ChatStreamTransport)는 카운터 키가 없으면 발급하지 않고 nil 을 반환하고,
+     * 호출 측이 reseed 로 저장된 최대 seq + reseed-gap 부터 다시 맞춘 뒤 한 번 더 발급한다
+     * gap 은 아직 저장되지 않은(write-behind 대기 중인) 순번과 겹치지 않게 건너뛰는 폭
+     */
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${chat.room.seq.reseed-gap:1000}")
+    private long reseedGap;
+
+    /**
+     * 카운터 키가 없을 때만 MySQL 기준으로 다시 설정 (다른 노드가 먼저 맞췄으면 그대로 둔다)
+     * 저장된 메세지가 없는 채팅방(새 채팅방)은 0 부터 시작
+     */
+    public void reseed(String roomId) {
+        Long maxSeq = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(seq), 0) FROM chat_messages WHERE room_id = ?", Long.class, roomId);
+        long start = maxSeq != null && maxSeq > 0 ? maxSeq + reseedGap : 0;
+
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(RecentMessageBuffer.seqKey(roomId), String.valueOf(start)))
+                && start > 0) {
+            log.warn("채팅방 순번 카운터 유실, DB 기준으로 다시 설정: roomId={}, seq={}", roomId, start);
+        }
+    }
+
+    /**
+     * 마지막으로 발급된 순번 (카운터가 없으면 0)
+     */
+    public long current(String roomId) {
+        String seq = redisTemplate.opsForValue().get(RecentMessageBuffer.seqKey(roomId));
+        return seq != null ? Long.parseLong(seq) : 0L;
+    }
+
+}
@@ -0,0 +1,326 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import com.example.withdogandcat.domain.chat.config.RoomSubscriptionTracker;
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.example.withdogandcat.domain.chat.service.LocalRoomBroadcaster;
+import com.example.withdogandcat.global.exception.BaseException;
+import com.example.withdogandcat.global.exception.BaseResponseStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatStreamTransport {
+
+    /**
+     * Redis Streams 기반 채팅 전달/보관 (chat.transport=streams 일 때만 사용, 기본값 pubsub)
+     * 채팅방마다 스트림 하나(chatRoom:{roomId}:stream)에 XADD MAXLEN ~ 로 쌓고
+     * 최근 메세지 버퍼(리스트) + pub/sub 발행 + write-behind 큐 세 가지를 이 한 번의 쓰기로 대신한다
+     *
+     * - 전달: 노드마다 리더 스레드 하나가 로컬 구독자가 있는 채팅방 스트림만 XREAD BLOCK 으로 읽어서 전달
+     * - 저장: 스트림마다 만든 컨슈머 그룹(PERSIST_GROUP)을 ChatStreamPersister 가 읽어서 배치 저장
+     * - 재연결/재배포 중 놓친 메세지는 스트림에 남아 있으므로 since 조회로 다시 받을 수 있다
+     */
+
+    public static final String PERSIST_GROUP = "chat-persist";
+    public static final String STREAMS_KEY = "chat:streams";
+    public static final String DIRTY_STREAMS_KEY = "chat:streams:dirty";
+
+    private static final byte[] MESSAGE_FIELD = "m".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] USER_FIELD = "u".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 첫 메세지에서 컨슈머 그룹을 만들고, 순번 발급 + seq 채우기 + XADD + 마지막 메세지 기록 + 저장 대상 표시
+     * 순번 카운터가 없으면 아무것도 하지 않고 nil 반환 (RecentMessageBuffer 와 같이 ChatRoomSequence 로 다시 맞춘다)
+     */
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 0 then return false end " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "  redis.pcall('XGROUP', 'CREATE', KEYS[1], ARGV[6], '0', 'MKSTREAM') " +
+            "  redis.call('SADD', KEYS[4], ARGV[5]) " +
+            "end " +
+            "local seq = redis.call('INCR', KEYS[2]) " +
+            "local offset = tonumber(ARGV[3]) " +
+            "local payload = string.sub(ARGV[1], 1, offset) .. struct.pack('>i8', seq) .. string.sub(ARGV[1], offset + 9) " +
+            "redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[2], '*', 'm', payload, 'u', ARGV[7]) " +
+            "if ARGV[4] ~= '' then redis.call('HSET', KEYS[3], ARGV[4], payload) end " +
+            "redis.call('SADD', KEYS[5], ARGV[5]) " +
+            "return seq",
+            Long.class);
+
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final ChatMessageCodec chatMessageCodec;
+    private final ChatRoomSequence chatRoomSequence;
+    private final ChatNodeIdentity chatNodeIdentity;
+    private final LocalRoomBroadcaster localRoomBroadcaster;
+    private final RoomSubscriptionTracker roomSubscriptionTracker;
+    private final RedisTemplate<String, ChatMessage> chatMessageRedisTemplate;
+
+    @Value("${chat.transport:pubsub}")
+    private String transport;
+
+    @Value("${chat.stream.max-length:1000}")
+    private long maxLength;
+
+    @Value("${chat.redis.recent-capacity:20}")
+    private int recentCapacity;
+
+    @Value("${chat.stream.read-count:100}")
+    private int readCount;
+
+    @Value("${chat.stream.block-ms:500}")
+    private long blockMs;
+
+    private final Map<String, String> lastDeliveredIds = new ConcurrentHashMap<>();
+    private Thread reader;
+    private volatile boolean running;
+
+    public boolean isEnabled() {
+        return "streams".equalsIgnoreCase(transport);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        running = true;
+        reader = new Thread(this::readLoop, "chat-stream-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * 채팅방 순번을 발급해서 메세지에 채우고 스트림에 추가
+     */
+    public Long append(String roomId, ChatMessage chatMessage, String userEmail) {
+        chatMessage.setOriginNodeId(chatNodeIdentity.getNodeId());
+
+        Long seq = executeAppend(roomId, chatMessage, userEmail);
+        if (seq == null) {
+            chatRoomSequence.reseed(roomId);
+            seq = executeAppend(roomId, chatMessage, userEmail);
+            if (seq == null) {
+                throw new BaseException(BaseResponseStatus.REDIS_ERROR);
+            }
+        }
+
+        chatMessage.setSeq(seq);
+        return seq;
+    }
+
+    private Long executeAppend(String roomId, ChatMessage chatMessage, String userEmail) {
+        return chatMessageRedisTemplate.execute(APPEND_SCRIPT, RedisSerializer.byteArray(), LONG_SERIALIZER,
+                List.of(streamKey(roomId), RecentMessageBuffer.seqKey(roomId), RecentMessageBuffer.LAST_TALK_KEY,
+                        STREAMS_KEY, DIRTY_STREAMS_KEY),
+                chatMessageCodec.serialize(chatMessage),
+                bytes(String.valueOf(maxLength)),
+                bytes(String.valueOf(ChatMessageCodec.SEQ_OFFSET)),
+                bytes(chatMessage.getType() == MessageType.TALK ? roomId : ""),
+                bytes(roomId),
+                bytes(PERSIST_GROUP),
+                bytes(userEmail));
+    }
+
+    /**
+     * 스트림의 최근 메세지를 오래된 순으로 반환 (RecentMessageBuffer.findAll 과 같은 개수)
+     */
+    public List<ChatMessage> findRecent(String roomId) {
+        List<ByteRecord> records = chatMessageRedisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xRevRange(bytes(streamKey(roomId)), Range.unbounded(),
+                        Limit.limit().count(recentCapacity)));
+        if (records == null || records.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ChatMessage> messages = new ArrayList<>(records.size());
+        for (int i = records.size() - 1; i >= 0; i--) {
+            ChatMessage message = decode(records.get(i));
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * 로컬 구독 채팅방 스트림을 XREAD BLOCK 으로 읽어서 전달
+     * 처음 보는 채팅방은 그 시점 스트림의 마지막 id 부터 읽는다 (노드 시계와 레코드 id 시각을 비교하지 않는다)
+     * 구독과 첫 읽기 사이에 추가된 메세지는 클라이언트가 since 조회로 채운다
+     * 이 노드가 보낸 메세지는 RedisPublisher 가 이미 로컬로 전달했으므로 버린다
+     */
+    private void readLoop() {
+        while (running) {
+            try {
+                Set<String> roomIds = new HashSet<>(roomSubscriptionTracker.getLocalRoomIds());
+                lastDeliveredIds.keySet().retainAll(roomIds);
+
+                if (roomIds.isEmpty()) {
+                    Thread.sleep(blockMs);
+                    continue;
+                }
+
+                List<String> newRoomIds = roomIds.stream()
+                        .filter(roomId -> !lastDeliveredIds.containsKey(roomId))
+                        .toList();
+                if (!newRoomIds.isEmpty()) {
+                    lastDeliveredIds.putAll(latestIds(newRoomIds));
+                }
+
+                List<StreamOffset<byte[]>> offsets = new ArrayList<>(roomIds.size());
+                for (String roomId : roomIds) {
+                    offsets.add(StreamOffset.create(bytes(streamKey(roomId)), ReadOffset.from(lastDeliveredIds.get(roomId))));
+                }
+
+                List<ByteRecord> records = chatMessageRedisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                        read(connection, offsets));
+                if (records == null) {
+                    continue;
+                }
+
+                for (ByteRecord record : records) {
+                    String roomId = roomIdOf(record.getStream());
+                    lastDeliveredIds.computeIfPresent(roomId, (k, v) -> record.getId().getValue());
+
+                    ChatMessage message = decode(record);
+                    if (message != null && !chatNodeIdentity.isLocal(message.getOriginNodeId())) {
+                        localRoomBroadcaster.deliver(message);
+                    }
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("채팅 스트림 읽기 오류", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * 채팅방별 스트림 마지막 id (XREVRANGE + - COUNT 1 을 파이프라인 한 번으로), 스트림이 없거나 비어 있으면 0-0
+     */
+    private Map<String, String> latestIds(List<String> roomIds) {
+        List<Object> results = chatMessageRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            roomIds.forEach(roomId -> connection.streamCommands()
+                    .xRevRange(bytes(streamKey(roomId)), Range.unbounded(), Limit.limit().count(1)));
+            return null;
+        }, null);
+
+        Map<String, String> latestIds = new HashMap<>();
+        for (int i = 0; i < roomIds.size(); i++) {
+            Object result = i < results.size() ? results.get(i) : null;
+            String latestId = result instanceof List<?> records && !records.isEmpty()
+                    ? ((ByteRecord) records.get(0)).getId().getValue()
+                    : "0-0";
+            latestIds.put(roomIds.get(i), latestId);
+        }
+        return latestIds;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ByteRecord> read(RedisConnection connection, List<StreamOffset<byte[]>> offsets) {
+        return connection.streamCommands().xRead(
+                StreamReadOptions.empty().count(readCount).block(Duration.ofMillis(blockMs)),
+                offsets.toArray(new StreamOffset[0]));
+    }
+
+    /**
+     * 스트림 레코드의 메세지 (필드 m, ChatMessageCodec 포맷)
+     */
+    public ChatMessage decode(ByteRecord record) {
+        byte[] payload = field(record, MESSAGE_FIELD);
+        return payload != null ? chatMessageCodec.deserialize(payload) : null;
+    }
+
+    /**
+     * 스트림 레코드의 발신자 이메일 (필드 u)
+     */
+    public static String userEmailOf(ByteRecord record) {
+        byte[] userEmail = field(record, USER_FIELD);
+        return userEmail != null ? new String(userEmail, StandardCharsets.UTF_8) : null;
+    }
+
+    private static byte[] field(ByteRecord record, byte[] name) {
+        for (Map.Entry<byte[], byte[]> entry : record.getValue().entrySet()) {
+            if (Arrays.equals(entry.getKey(), name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    public static String roomIdOf(byte[] streamKey) {
+        String key = new String(streamKey, StandardCharsets.UTF_8);
+        return key.substring("chatRoom:".length(), key.length() - ":stream".length());
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(blockMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        running = false;
+        if (reader != null) {
+            reader.interrupt();
+        }
+    }
+
+    /**
+     * 채팅방 스트림 삭제 및 저장 대상에서 제외
+     */
+    public void delete(Collection<String> roomIds) {
+        byte[][] members = roomIds.stream().map(ChatStreamTransport::bytes).toArray(byte[][]::new);
+        chatMessageRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.keyCommands().del(roomIds.stream()
+                    .map(roomId -> bytes(streamKey(roomId)))
+                    .toArray(byte[][]::new));
+            connection.setCommands().sRem(bytes(STREAMS_KEY), members);
+            connection.setCommands().sRem(bytes(DIRTY_STREAMS_KEY), members);
+            return null;
+        });
+    }
+
+    public static String streamKey(String roomId) {
+        return "chatRoom:" + roomId + ":stream";
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+@Component
+@RequiredArgsConstructor
+public class ReadCursorStore {
+
+    /**
+     * 채팅방별 사용자 읽음 위치 (chatRoom:{roomId}:read-cursors 해시, 필드=이메일, 값=마지막으로 읽은 seq)
+     * 안 읽은 수 = 채팅방 순번(chatRoom:{roomId}:seq) - 읽음 위치, 읽음 위치가 없는(참여한 적 없는) 채팅방은 0
+     * 여러 채팅방의 안 읽은 수는 Lua 스크립트 한 번으로 계산해서 채팅방 수와 관계없이 왕복 한 번
+     */
+
+    private static final RedisScript<List> UNREAD_SCRIPT = new DefaultRedisScript<>(
+            "local result = {} " +
+            "for i = 1, #KEYS, 2 do " +
+            "  local seq = tonumber(redis.call('GET', KEYS[i]) or '0') " +
+            "  local cursor = redis.call('HGET', KEYS[i + 1], ARGV[1]) " +
+            "  if cursor then result[#result + 1] = math.max(0, seq - tonumber(cursor)) else result[#result + 1] = 0 end " +
+            "end " +
+            "return result",
+            List.class);
+
+    private static final RedisScript<Long> MARK_READ_SCRIPT = new DefaultRedisScript<>(
+            "local seq = tonumber(redis.call('GET', KEYS[2]) or '0') " +
+            "local target = math.min(tonumber(ARGV[2]), seq) " +
+            "local cursor = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '-1') " +
+            "if target > cursor then redis.call('HSET', KEYS[1], ARGV[1], target) cursor = target end " +
+            "return math.max(0, seq - cursor)",
+            Long.class);
+
+    /**
+     * 채팅방마다 보낸 사람의 읽음 위치만 보낸 메세지까지 올리고 읽음 위치 보유자의 안 읽은 수를 계산해서 JSON 으로 반환
+     * ([{email: unread}, ...], KEYS 순서), 받은 사람의 읽음 위치는 클라이언트가 보내는 /chat/read 로만 올라간다
+     */
+    private static final RedisScript<String> ADVANCE_SCRIPT = new DefaultRedisScript<>(
+            "local senders = cjson.decode(ARGV[1]) " +
+            "local result = {} " +
+            "for i = 1, #KEYS, 2 do " +
+            "  local room = (i + 1) / 2 " +
+            "  local seq = tonumber(redis.call('GET', KEYS[i]) or '0') " +
+            "  for email, sent in pairs(senders[room]) do " +
+            "    local cursor = tonumber(redis.call('HGET', KEYS[i + 1], email) or '-1') " +
+            "    if tonumber(sent) > cursor then redis.call('HSET', KEYS[i + 1], email, sent) end " +
+            "  end " +
+            "  local unread = {} " +
+            "  local cursors = redis.call('HGETALL', KEYS[i + 1]) " +
+            "  for j = 1, #cursors, 2 do " +
+            "    unread[cursors[j]] = math.max(0, seq - tonumber(cursors[j + 1])) " +
+            "  end " +
+            "  result[room] = unread " +
+            "end " +
+            "return cjson.encode(result)",
+            String.class);
+
+    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 읽음 위치를 seq 까지 올리고 (뒤로 가지 않음) 남은 안 읽은 수 반환
+     */
+    public long markRead(String userEmail, String roomId, long seq) {
+        Long unread = redisTemplate.execute(MARK_READ_SCRIPT,
+                List.of(cursorsKey(roomId), RecentMessageBuffer.seqKey(roomId)),
+                userEmail, String.valueOf(seq));
+        return unread != null ? unread : 0L;
+    }
+
+    /**
+     * 사용자의 채팅방별 안 읽은 수 (roomIds 순서 유지)
+     */
+    public Map<String, Long> unreadCounts(String userEmail, List<String> roomIds) {
+        Map<String, Long> unreadCounts = new LinkedHashMap<>();
+        if (roomIds.isEmpty()) {
+            return unreadCounts;
+        }
+
+        List<String> keys = new ArrayList<>(roomIds.size() * 2);
+        for (String roomId : roomIds) {
+            keys.add(RecentMessageBuffer.seqKey(roomId));
+            keys.add(cursorsKey(roomId));
+        }
+
+        List<?> counts = redisTemplate.execute(UNREAD_SCRIPT, keys, userEmail);
+        for (int i = 0; i < roomIds.size(); i++) {
+            Object count = counts != null && i < counts.size() ? counts.get(i) : null;
+            unreadCounts.put(roomIds.get(i), count instanceof Number ? ((Number) count).longValue() : 0L);
+        }
+        return unreadCounts;
+    }
+
+    /**
+     * 새 메세지가 쌓인 채팅방들의 읽음 위치 갱신 + 사용자별 안 읽은 수 계산 (왕복 한 번)
+     * senderSeqs: 채팅방 -> (보낸 사람 -> 보낸 메세지 seq)
+     * 반환: 사용자 -> (채팅방 -> 안 읽은 수)
+     */
+    public Map<String, Map<String, Long>> advance(Map<String, Map<String, Long>> senderSeqs) throws Exception {
+        List<String> roomIds = new ArrayList<>(senderSeqs.keySet());
+        List<String> keys = new ArrayList<>(roomIds.size() * 2);
+        List<Map<String, Long>> senders = new ArrayList<>(roomIds.size());
+        for (String roomId : roomIds) {
+            keys.add(RecentMessageBuffer.seqKey(roomId));
+            keys.add(cursorsKey(roomId));
+            senders.add(senderSeqs.get(roomId));
+        }
+
+        String json = redisTemplate.execute(ADVANCE_SCRIPT, keys, objectMapper.writeValueAsString(senders));
+        List<Map<String, Long>> unreadByRoom = json != null
+                ? objectMapper.readValue(json, new TypeReference<>() {})
+                : Collections.emptyList();
+
+        Map<String, Map<String, Long>> unreadByUser = new HashMap<>();
+        for (int i = 0; i < unreadByRoom.size() && i < roomIds.size(); i++) {
+            String roomId = roomIds.get(i);
+            unreadByRoom.get(i).forEach((userEmail, unread) ->
+                    unreadByUser.computeIfAbsent(userEmail, k -> new LinkedHashMap<>()).put(roomId, unread));
+        }
+        return unreadByUser;
+    }
+
+    public void delete(Collection<String> roomIds) {
+        redisTemplate.delete(roomIds.stream().map(ReadCursorStore::cursorsKey).toList());
+    }
+
+    public static String cursorsKey(String roomId) {
+        return "chatRoom:" + roomId + ":read-cursors";
+    }
+
+}
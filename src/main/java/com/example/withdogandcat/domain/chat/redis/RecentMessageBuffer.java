@@ -0,0 +1,112 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.example.withdogandcat.global.exception.BaseException;
+import com.example.withdogandcat.global.exception.BaseResponseStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class RecentMessageBuffer {
+
+    /**
+     * 채팅방 최근 메세지 버퍼 (chatRoom:{roomId}:messages)
+     * 채팅방 순번 발급(INCR chatRoom:{roomId}:seq) + RPUSH + LTRIM 을 Lua 스크립트 한 번(EVALSHA)으로 처리해서
+     * 동시에 여러 명이 보내도 순번과 버퍼 순서가 같고 용량을 넘지 않으며 왕복도 한 번으로 끝난다
+     * 메세지는 ChatMessageCodec 바이너리 포맷으로 저장하고, 발급한 순번은 스크립트가 seq 자리에 직접 채운다
+     * TALK 메세지는 채팅방 목록용 마지막 메세지 해시(LAST_TALK_KEY)에도 같은 스크립트에서 기록
+     * 순번 카운터가 없으면 추가하지 않고 ChatRoomSequence 로 다시 맞춘 뒤 한 번 더 실행
+     */
+
+    public static final String LAST_TALK_KEY = "chat:room-summary:last-talk";
+
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 0 then return false end " +
+            "local seq = redis.call('INCR', KEYS[2]) " +
+            "local offset = tonumber(ARGV[3]) " +
+            "local payload = string.sub(ARGV[1], 1, offset) .. struct.pack('>i8', seq) .. string.sub(ARGV[1], offset + 9) " +
+            "redis.call('RPUSH', KEYS[1], payload) " +
+            "redis.call('LTRIM', KEYS[1], -tonumber(ARGV[2]), -1) " +
+            "if ARGV[4] ~= '' then redis.call('HSET', KEYS[3], ARGV[4], payload) end " +
+            "return seq",
+            Long.class);
+
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final ChatMessageCodec chatMessageCodec;
+    private final ChatRoomSequence chatRoomSequence;
+    private final RedisTemplate<String, ChatMessage> chatMessageRedisTemplate;
+
+    @Value("${chat.redis.recent-capacity:20}")
+    private int capacity;
+
+    /**
+     * 채팅방 순번을 발급해서 메세지에 채우고 버퍼에 추가, 용량만큼 잘라낸다
+     */
+    public Long append(String roomId, ChatMessage chatMessage) {
+        Long seq = executeAppend(roomId, chatMessage);
+        if (seq == null) {
+            chatRoomSequence.reseed(roomId);
+            seq = executeAppend(roomId, chatMessage);
+            if (seq == null) {
+                throw new BaseException(BaseResponseStatus.REDIS_ERROR);
+            }
+        }
+
+        chatMessage.setSeq(seq);
+        return seq;
+    }
+
+    private Long executeAppend(String roomId, ChatMessage chatMessage) {
+        return chatMessageRedisTemplate.execute(APPEND_SCRIPT, RedisSerializer.byteArray(), LONG_SERIALIZER,
+                List.of(key(roomId), seqKey(roomId), LAST_TALK_KEY),
+                chatMessageCodec.serialize(chatMessage),
+                String.valueOf(capacity).getBytes(StandardCharsets.UTF_8),
+                String.valueOf(ChatMessageCodec.SEQ_OFFSET).getBytes(StandardCharsets.UTF_8),
+                (chatMessage.getType() == MessageType.TALK ? roomId : "").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 버퍼에 담긴 메세지를 오래된 순으로 반환
+     */
+    public List<ChatMessage> findAll(String roomId) {
+        List<ChatMessage> messages = chatMessageRedisTemplate.opsForList().range(key(roomId), 0, -1);
+        return messages != null ? messages : Collections.emptyList();
+    }
+
+    /**
+     * 채팅방들의 버퍼, 순번, 마지막 메세지 일괄 삭제
+     */
+    public void delete(Collection<String> roomIds) {
+        List<String> keys = new ArrayList<>(roomIds.size() * 2);
+        roomIds.forEach(roomId -> {
+            keys.add(key(roomId));
+            keys.add(seqKey(roomId));
+        });
+        chatMessageRedisTemplate.delete(keys);
+        chatMessageRedisTemplate.opsForHash().delete(LAST_TALK_KEY, roomIds.toArray());
+    }
+
+    public static String key(String roomId) {
+        return "chatRoom:" + roomId + ":messages";
+    }
+
+    public static String seqKey(String roomId) {
+        return "chatRoom:" + roomId + ":seq";
+    }
+
+}
@@ -1,10 +1,19 @@
 package com.example.withdogandcat.domain.chat.redis;
 
+import com.example.withdogandcat.domain.chat.config.SessionRevocationListener;
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.repo.ChatRoomRepository;
+import com.example.withdogandcat.domain.chat.search.ChatSearchIndex;
+import com.example.withdogandcat.domain.chat.service.RoomOccupancyNotifier;
+import com.example.withdogandcat.domain.chat.service.UnreadNotifier;
+import com.example.withdogandcat.global.security.jwt.JwtUtil;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -14,11 +23,24 @@ public class RedisConfig {
 
     /**
      * redis pub/sub 메시지를 처리하는 listener 설정
+     * 채팅방마다 구독하지 않고 노드당 chatroom:* 패턴 구독 하나로 모든 채팅방 메세지를 받는다
+     * 토큰 폐기 알림, 채팅방 인원 알림, 안 읽은 수 알림, 검색 색인 채널도 함께 구독
      */
     @Bean
-    public RedisMessageListenerContainer redisMessageListener(RedisConnectionFactory connectionFactory) {
+    public RedisMessageListenerContainer redisMessageListener(RedisConnectionFactory connectionFactory,
+                                                              RedisSubscriber redisSubscriber,
+                                                              SessionRevocationListener sessionRevocationListener,
+                                                              RoomOccupancyNotifier roomOccupancyNotifier,
+                                                              UnreadNotifier unreadNotifier,
+                                                              ChatSearchIndex chatSearchIndex) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(redisSubscriber, new PatternTopic(ChatRoomRepository.TOPIC_PREFIX + "*"));
+        container.addMessageListener(sessionRevocationListener, new ChannelTopic(JwtUtil.SESSION_REVOKE_CHANNEL));
+        container.addMessageListener(roomOccupancyNotifier, new ChannelTopic(RoomOccupancyNotifier.OCCUPANCY_CHANNEL));
+        container.addMessageListener(unreadNotifier, new ChannelTopic(UnreadNotifier.UNREAD_CHANNEL));
+        container.addMessageListener(chatSearchIndex, new ChannelTopic(ChatSearchIndex.SEARCH_CHANNEL));
+        container.addMessageListener(chatSearchIndex, new ChannelTopic(ChatSearchIndex.REMOVE_CHANNEL));
         return container;
     }
 
@@ -38,4 +60,21 @@ public class RedisConfig {
         return redisTemplate;
     }
 
+    /**
+     * 채팅 메세지 전용 redisTemplate (pub/sub 발행, 최근 메세지 버퍼)
+     * JSON 대신 ChatMessageCodec 바이너리 포맷 사용
+     */
+    @Bean
+    public RedisTemplate<String, ChatMessage> chatMessageRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                                       ChatMessageCodec chatMessageCodec) {
+        RedisTemplate<String, ChatMessage> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(chatMessageCodec);
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(chatMessageCodec);
+        return redisTemplate;
+    }
+
 }
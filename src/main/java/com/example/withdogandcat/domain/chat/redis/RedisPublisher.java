@@ -1,6 +1,7 @@
 package com.example.withdogandcat.domain.chat.redis;
 
 import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.service.LocalRoomBroadcaster;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
@@ -10,10 +11,26 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class RedisPublisher {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final ChatNodeIdentity chatNodeIdentity;
+    private final ChatStreamTransport chatStreamTransport;
+    private final LocalRoomBroadcaster localRoomBroadcaster;
+    private final RedisTemplate<String, ChatMessage> chatMessageRedisTemplate;
 
+    /**
+     * 로컬 구독자에게 먼저 바로 전달하고, 다른 노드를 위해 Redis에 발행
+     * 발행 노드 id를 실어 보내서 되돌아온 자기 메세지는 RedisSubscriber에서 버린다
+     * Streams 전송 방식이면 저장 시 이미 스트림에 추가했으므로 로컬 전달만 한다 (일시적 이벤트는 그대로 발행)
+     */
     public void publish(ChannelTopic topic, ChatMessage message) {
-        redisTemplate.convertAndSend(topic.getTopic(), message);
+        message.setOriginNodeId(chatNodeIdentity.getNodeId());
+
+        localRoomBroadcaster.deliver(message);
+
+        boolean ephemeral = message.getType() != null && message.getType().isEphemeral();
+        if (chatStreamTransport.isEnabled() && !ephemeral) {
+            return;
+        }
+        chatMessageRedisTemplate.convertAndSend(topic.getTopic(), message);
     }
 
 }
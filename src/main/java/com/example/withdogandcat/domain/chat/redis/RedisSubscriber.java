@@ -1,34 +1,52 @@
 package com.example.withdogandcat.domain.chat.redis;
 
+import com.example.withdogandcat.domain.chat.config.RoomSubscriptionTracker;
 import com.example.withdogandcat.domain.chat.entity.ChatMessage;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.withdogandcat.domain.chat.repo.ChatRoomRepository;
+import com.example.withdogandcat.domain.chat.service.LocalRoomBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RedisSubscriber implements MessageListener {
 
-    private final ObjectMapper objectMapper;
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final SimpMessageSendingOperations messagingTemplate;
+    private final ChatMessageCodec chatMessageCodec;
+    private final ChatNodeIdentity chatNodeIdentity;
+    private final LocalRoomBroadcaster localRoomBroadcaster;
+    private final RoomSubscriptionTracker roomSubscriptionTracker;
 
     /**
      * Redis에서 메시지가 발행(publish)되면 대기하고 있던 onMessage가 해당 메시지를 받아 처리
+     * 노드마다 chatroom:* 패턴 하나만 구독하고, 이 노드에 구독자가 있는 채팅방으로만 전달
+     * 이 노드가 발행한 메세지는 이미 로컬로 전달했으므로 버린다
+     * 메세지 본문은 ChatMessageCodec 으로 한 번만 디코딩
      */
     @Override
     public void onMessage(Message message, byte[] pattern) {
 
         try {
-            String publishMessage = redisTemplate.getStringSerializer().deserialize(message.getBody());
-            ChatMessage roomMessage = objectMapper.readValue(publishMessage, ChatMessage.class);
-            messagingTemplate.convertAndSend("/sub/chat/room/" + roomMessage.getRoomId(), roomMessage);
+            String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+            String roomId = channel != null && channel.startsWith(ChatRoomRepository.TOPIC_PREFIX)
+                    ? channel.substring(ChatRoomRepository.TOPIC_PREFIX.length())
+                    : null;
+
+            if (roomId == null || !roomSubscriptionTracker.hasLocalSubscribers(roomId)) {
+                return;
+            }
+
+            ChatMessage roomMessage = chatMessageCodec.deserialize(message.getBody());
+            if (roomMessage == null || chatNodeIdentity.isLocal(roomMessage.getOriginNodeId())) {
+                return;
+            }
+
+            localRoomBroadcaster.deliver(roomMessage);
 
         } catch (Exception e) {
             log.error(e.getMessage());
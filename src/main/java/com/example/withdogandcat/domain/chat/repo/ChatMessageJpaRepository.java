@@ -2,6 +2,7 @@ package com.example.withdogandcat.domain.chat.repo;
 
 import com.example.withdogandcat.domain.chat.entity.ChatMessageEntity;
 import com.example.withdogandcat.domain.chat.entity.MessageType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -13,18 +14,26 @@ import java.util.List;
 @Repository
 public interface ChatMessageJpaRepository extends JpaRepository<ChatMessageEntity, Long> {
 
-    void deleteByRoomId(String roomId);
+    @Modifying
+    @Query("DELETE FROM ChatMessageEntity c WHERE c.roomId IN :roomIds")
+    int deleteAllByRoomIdIn(@Param("roomIds") List<String> roomIds);
 
     @Modifying
     @Query("DELETE FROM ChatMessageEntity c WHERE c.sender.id = :userId")
     void deleteByUserId(@Param("userId") Long userId);
 
-
-    long countByRoomId(String roomId);
-
-    @Query("SELECT cm FROM ChatMessageEntity cm WHERE cm.roomId = :roomId ORDER BY cm.createdAt ASC")
-    List<ChatMessageEntity> findOldestMessages(@Param("roomId") String roomId);
-
     ChatMessageEntity findTopByRoomIdAndTypeOrderByIdDesc(String roomId, MessageType type);
 
+    @Query("SELECT cm FROM ChatMessageEntity cm LEFT JOIN FETCH cm.sender " +
+            "WHERE cm.roomId = :roomId AND cm.id < :before ORDER BY cm.id DESC")
+    List<ChatMessageEntity> findHistoryBefore(@Param("roomId") String roomId,
+                                              @Param("before") Long before,
+                                              Pageable pageable);
+
+    @Query("SELECT cm FROM ChatMessageEntity cm LEFT JOIN FETCH cm.sender " +
+            "WHERE cm.roomId = :roomId AND cm.seq > :since ORDER BY cm.seq ASC")
+    List<ChatMessageEntity> findSince(@Param("roomId") String roomId,
+                                      @Param("since") Long since,
+                                      Pageable pageable);
+
 }
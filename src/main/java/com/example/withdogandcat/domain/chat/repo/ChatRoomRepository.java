@@ -1,7 +1,6 @@
 package com.example.withdogandcat.domain.chat.repo;
 
 import com.example.withdogandcat.domain.chat.entity.ChatRoom;
-import com.example.withdogandcat.domain.chat.redis.RedisSubscriber;
 import com.example.withdogandcat.global.exception.BaseException;
 import com.example.withdogandcat.global.exception.BaseResponseStatus;
 import jakarta.annotation.PostConstruct;
@@ -10,12 +9,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
-import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Repository;
 
-import java.util.Map;
+import java.util.Collection;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -26,17 +23,14 @@ public class ChatRoomRepository {
      * Redis 저장을 위한 클래스
      */
 
-    private final RedisSubscriber redisSubscriber;
-    private final RedisMessageListenerContainer redisMessageListener;
+    public static final String TOPIC_PREFIX = "chatroom:";
     private static final String CHAT_ROOMS = "CHAT_ROOM";
     private final RedisTemplate<String, Object> redisTemplate;
     private HashOperations<String, String, ChatRoom> opsHashChatRoom;
-    private Map<String, ChannelTopic> topics;
 
     @PostConstruct
     private void init() {
         opsHashChatRoom = redisTemplate.opsForHash();
-        topics = new ConcurrentHashMap<>();
     }
 
     /**
@@ -62,21 +56,6 @@ public class ChatRoomRepository {
 
     }
 
-    /**
-     * 채팅방 입장 + Topic 발행
-     */
-    public void enterChatRoom(String roomId) {
-        topics.computeIfAbsent(roomId, k -> {
-            ChannelTopic topic = new ChannelTopic(roomId);
-            try {
-                redisMessageListener.addMessageListener(redisSubscriber, topic);
-            } catch (Exception e) {
-                log.error("채팅방 입장 오류: {}", roomId, e);
-            }
-            return topic;
-        });
-    }
-
     /**
      * 유저당 활성화 하는 채팅방 개수
      */
@@ -100,15 +79,13 @@ public class ChatRoomRepository {
     }
 
     /**
-     * 채팅방 삭제
+     * 채팅방 일괄 삭제 (HDEL 한 번)
      */
-    public void deleteRoom(String roomId) {
+    public void deleteRooms(Collection<String> roomIds) {
         try {
-            String key = "CHAT_ROOM";
-            String field = roomId;
-            redisTemplate.opsForHash().delete(key, field);
+            opsHashChatRoom.delete(CHAT_ROOMS, roomIds.toArray());
         } catch (Exception e) {
-            log.error("레디스에서 채팅방 삭제 오류: {}", roomId, e);
+            log.error("레디스에서 채팅방 삭제 오류: {}", roomIds, e);
         }
     }
 
@@ -119,8 +96,12 @@ public class ChatRoomRepository {
         return opsHashChatRoom.hasKey(CHAT_ROOMS, roomId);
     }
 
+    /**
+     * 채팅방 Topic (chatroom:{roomId})
+     * 모든 노드가 chatroom:* 패턴으로 구독하고 있으므로 어느 노드에서 발행해도 전달된다
+     */
     public ChannelTopic getTopic(String roomId) {
-        return topics.get(roomId);
+        return new ChannelTopic(TOPIC_PREFIX + roomId);
     }
 
 }
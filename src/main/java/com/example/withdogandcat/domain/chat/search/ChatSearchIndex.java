@@ -0,0 +1,284 @@
+package com.example.withdogandcat.domain.chat.search;
+
+import com.example.withdogandcat.domain.chat.dto.ChatSearchResultDto;
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.example.withdogandcat.domain.chat.persist.ChatArchive;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatSearchIndex implements MessageListener {
+
+    /**
+     * 채팅 메세지 검색용 메모리 역색인 (노드 로컬)
+     * 한글도 형태소 분석 없이 찾을 수 있도록 2글자 단위(bigram)로 색인한다
+     * 색인 키는 채팅방 범위(r:{roomId}:{bigram}), 사용자 범위(u:{email}:{bigram}) 두 가지
+     * -> 검색 비용이 전체 메세지 수가 아니라 해당 범위의 게시 목록 길이(최대 maxCandidates)에 비례
+     *
+     * 메세지를 저장한 노드가 저장된 TALK 메세지를 chat:search 채널로 발행하고, 모든 노드가 받아서 각자 색인한다
+     * 시작 시 아카이브(ChatArchive, 공유 볼륨) -> MySQL 순서로 다시 만든다
+     * 문서 수가 maxDocuments 를 넘으면 오래된 메세지부터 색인에서 빼므로 검색 범위는 최근 maxDocuments 건이다
+     */
+
+    public static final String SEARCH_CHANNEL = "chat:search";
+    public static final String REMOVE_CHANNEL = "chat:search:remove";
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final ChatArchive chatArchive;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${chat.search.max-documents:1000000}")
+    private int maxDocuments;
+
+    @Value("${chat.search.max-candidates:5000}")
+    private int maxCandidates;
+
+    @Value("${chat.search.min-match-ratio:0.7}")
+    private double minMatchRatio;
+
+    private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+    private final Map<Long, ChatMessage> documents = new ConcurrentHashMap<>();
+    private final Queue<Long> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Thread rebuilder = new Thread(this::rebuildFromDatabase, "chat-search-rebuild");
+        rebuilder.setDaemon(true);
+        rebuilder.start();
+    }
+
+    private void rebuildFromDatabase() {
+        long lastId = 0;
+        int indexed = 0;
+
+        try {
+            chatArchive.scan(message -> {
+                if (message.getType() == MessageType.TALK) {
+                    index(message);
+                }
+            });
+
+            while (true) {
+                List<ChatMessage> page = jdbcTemplate.query(
+                        "SELECT m.id, m.seq, m.room_id, m.message, m.created_at, u.email FROM chat_messages m "
+                                + "LEFT JOIN users u ON u.user_id = m.user_id "
+                                + "WHERE m.type = 'TALK' AND m.id > ? ORDER BY m.id LIMIT " + REBUILD_PAGE_SIZE,
+                        (rs, rowNum) -> {
+                            ChatMessage message = new ChatMessage();
+                            message.setId(rs.getLong("id"));
+                            message.setSeq(rs.getObject("seq") != null ? rs.getLong("seq") : null);
+                            message.setRoomId(rs.getString("room_id"));
+                            message.setSender(rs.getString("email"));
+                            message.setMessage(rs.getString("message"));
+                            Timestamp createdAt = rs.getTimestamp("created_at");
+                            message.setSentAt(createdAt != null ? createdAt.toLocalDateTime().toString() : null);
+                            return message;
+                        },
+                        lastId);
+
+                page.forEach(this::index);
+                indexed += page.size();
+
+                if (page.size() < REBUILD_PAGE_SIZE) {
+                    break;
+                }
+                lastId = page.get(page.size() - 1).getId();
+            }
+            log.info("채팅 검색 색인 생성: {}건", indexed);
+
+        } catch (Exception e) {
+            log.error("채팅 검색 색인 생성 오류", e);
+        }
+    }
+
+    /**
+     * 저장이 끝난 메세지를 모든 노드의 색인에 추가하도록 발행
+     */
+    public void publish(List<ChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(SEARCH_CHANNEL, objectMapper.writeValueAsString(messages));
+        } catch (Exception e) {
+            log.error("채팅 검색 색인 발행 오류", e);
+        }
+    }
+
+    /**
+     * 삭제된 채팅방을 모든 노드의 색인에서 빼도록 발행
+     */
+    public void removeRooms(List<String> roomIds) {
+        try {
+            redisTemplate.convertAndSend(REMOVE_CHANNEL, objectMapper.writeValueAsString(roomIds));
+        } catch (Exception e) {
+            log.error("채팅 검색 색인 삭제 발행 오류", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+            if (REMOVE_CHANNEL.equals(channel)) {
+                List<String> roomIds = objectMapper.readValue(message.getBody(), new TypeReference<>() {});
+                roomIds.forEach(this::removeRoom);
+                return;
+            }
+
+            List<ChatMessage> messages = objectMapper.readValue(message.getBody(), new TypeReference<>() {});
+            messages.forEach(this::index);
+        } catch (Exception e) {
+            log.error("채팅 검색 색인 수신 오류", e);
+        }
+    }
+
+    /**
+     * 메세지 색인 (이미 색인된 id 는 무시)
+     */
+    public void index(ChatMessage message) {
+        if (message.getId() == null || message.getMessage() == null
+                || documents.putIfAbsent(message.getId(), message) != null) {
+            return;
+        }
+
+        insertionOrder.add(message.getId());
+        for (String token : Tokenizer.tokenize(message.getMessage())) {
+            if (message.getRoomId() != null) {
+                postings.computeIfAbsent(roomKey(message.getRoomId(), token), k -> new PostingList()).add(message.getId());
+            }
+            if (message.getSender() != null) {
+                postings.computeIfAbsent(userKey(message.getSender(), token), k -> new PostingList()).add(message.getId());
+            }
+        }
+
+        while (documents.size() > maxDocuments) {
+            Long oldest = insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            documents.remove(oldest);
+        }
+    }
+
+    private void removeRoom(String roomId) {
+        documents.values().removeIf(message -> roomId.equals(message.getRoomId()));
+        postings.keySet().removeIf(key -> key.startsWith("r:" + roomId + ":"));
+    }
+
+    /**
+     * 채팅방 또는 사용자 범위 검색
+     * 질의 bigram 중 minMatchRatio 이상 포함된 메세지를 (일치 bigram 수, 최신 순) 으로 정렬해서 페이지 반환
+     * 게시 목록은 최신 maxCandidates 건까지만 보므로 전체 메세지 수와 관계없이 비용이 제한된다
+     */
+    public ChatSearchResultDto search(String roomId, String userEmail, String query, int page, int size) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (tokens.isEmpty()) {
+            return ChatSearchResultDto.builder().messages(Collections.emptyList()).page(page).build();
+        }
+
+        Map<Long, Integer> matches = new HashMap<>();
+        for (String token : tokens) {
+            PostingList postingList = postings.get(roomId != null ? roomKey(roomId, token) : userKey(userEmail, token));
+            if (postingList == null) {
+                continue;
+            }
+            for (long id : postingList.latest(maxCandidates)) {
+                matches.merge(id, 1, Integer::sum);
+            }
+        }
+
+        int required = Math.max(1, (int) Math.ceil(tokens.size() * minMatchRatio));
+        List<ChatMessage> ranked = matches.entrySet().stream()
+                .filter(entry -> entry.getValue() >= required)
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Long, Integer>comparingByKey().reversed()))
+                .map(entry -> documents.get(entry.getKey()))
+                .filter(Objects::nonNull)
+                .filter(message -> roomId == null || roomId.equals(message.getRoomId()))
+                .filter(message -> userEmail == null || userEmail.equals(message.getSender()))
+                .skip((long) page * size)
+                .limit(size + 1)
+                .toList();
+
+        boolean hasNext = ranked.size() > size;
+        return ChatSearchResultDto.builder()
+                .messages(hasNext ? ranked.subList(0, size) : ranked)
+                .page(page)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * 색인에서 빠진(오래된, 삭제된) 메세지 id 를 게시 목록에서 정리
+     */
+    @Scheduled(fixedDelayString = "${chat.search.compact-interval-ms:600000}")
+    public void compact() {
+        postings.entrySet().removeIf(entry -> entry.getValue().retainAll(documents.keySet()) == 0);
+    }
+
+    private static String roomKey(String roomId, String token) {
+        return "r:" + roomId + ":" + token;
+    }
+
+    private static String userKey(String userEmail, String token) {
+        return "u:" + userEmail + ":" + token;
+    }
+
+    /**
+     * 메세지 id 게시 목록 (추가 순서 = 대체로 id 오름차순)
+     */
+    private static class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        synchronized void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized long[] latest(int limit) {
+            int from = Math.max(0, size - limit);
+            return Arrays.copyOfRange(ids, from, size);
+        }
+
+        synchronized int retainAll(Set<Long> alive) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (alive.contains(ids[i])) {
+                    ids[kept++] = ids[i];
+                }
+            }
+            size = kept;
+            return kept;
+        }
+
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.example.withdogandcat.domain.chat.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+final class Tokenizer {
+
+    /**
+     * 검색용 bigram 분리
+     * 글자/숫자가 아닌 문자로 단어를 나누고, 단어마다 연속된 2글자씩 잘라낸다 (1글자 단어는 그대로)
+     * "강아지 산책" -> [강아, 아지, 산책]
+     */
+
+    private Tokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int[] codePoints = normalized.codePoints().toArray();
+
+        int start = 0;
+        for (int i = 0; i <= codePoints.length; i++) {
+            if (i < codePoints.length && Character.isLetterOrDigit(codePoints[i])) {
+                continue;
+            }
+
+            int length = i - start;
+            if (length == 1) {
+                tokens.add(new String(codePoints, start, 1));
+            }
+            for (int j = start; j + 1 < i; j++) {
+                tokens.add(new String(codePoints, j, 2));
+            }
+            start = i + 1;
+        }
+        return tokens;
+    }
+
+}
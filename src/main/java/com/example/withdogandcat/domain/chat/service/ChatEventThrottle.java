@@ -0,0 +1,43 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ChatEventThrottle {
+
+    /**
+     * 일시적 이벤트(입력 중 표시 등) 전송 빈도 제한
+     * 사용자 + 채팅방마다 최소 간격 안에 들어온 이벤트는 버린다 (노드 로컬)
+     */
+
+    @Value("${chat.event.min-interval-ms:500}")
+    private long minIntervalMs;
+
+    @Value("${chat.event.max-tracked:50000}")
+    private int maxTracked;
+
+    private final Map<String, Long> lastSentAt = new ConcurrentHashMap<>();
+
+    public boolean tryAcquire(String userEmail, String roomId) {
+        long now = System.currentTimeMillis();
+
+        if (lastSentAt.size() > maxTracked) {
+            lastSentAt.values().removeIf(sentAt -> now - sentAt >= minIntervalMs);
+        }
+
+        boolean[] acquired = {false};
+        lastSentAt.compute(userEmail + ":" + roomId, (key, sentAt) -> {
+            if (sentAt != null && now - sentAt < minIntervalMs) {
+                return sentAt;
+            }
+            acquired[0] = true;
+            return now;
+        });
+        return acquired[0];
+    }
+
+}
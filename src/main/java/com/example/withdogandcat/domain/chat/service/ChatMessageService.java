@@ -1,85 +1,257 @@
 package com.example.withdogandcat.domain.chat.service;
 
+import com.example.withdogandcat.domain.chat.dto.ChatMessagePageDto;
+import com.example.withdogandcat.domain.chat.dto.ChatSearchResultDto;
 import com.example.withdogandcat.domain.chat.entity.ChatMessage;
 import com.example.withdogandcat.domain.chat.entity.ChatMessageEntity;
 import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.example.withdogandcat.domain.chat.persist.ChatArchive;
+import com.example.withdogandcat.domain.chat.persist.ChatMessageWriteBehind;
+import com.example.withdogandcat.domain.chat.redis.ChatMessageIdGenerator;
+import com.example.withdogandcat.domain.chat.redis.ChatRoomSequence;
+import com.example.withdogandcat.domain.chat.redis.ChatStreamTransport;
+import com.example.withdogandcat.domain.chat.redis.ReadCursorStore;
+import com.example.withdogandcat.domain.chat.redis.RecentMessageBuffer;
 import com.example.withdogandcat.domain.chat.repo.ChatMessageJpaRepository;
-import com.example.withdogandcat.domain.user.UserRepository;
-import com.example.withdogandcat.domain.user.entity.User;
+import com.example.withdogandcat.domain.chat.search.ChatSearchIndex;
 import com.example.withdogandcat.global.common.BaseResponse;
+import com.example.withdogandcat.global.exception.BaseException;
 import com.example.withdogandcat.global.exception.BaseResponseStatus;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class ChatMessageService {
 
-    private final UserRepository userRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final ChatArchive chatArchive;
+    private final ChatSearchIndex chatSearchIndex;
+    private final UnreadNotifier unreadNotifier;
+    private final ReadCursorStore readCursorStore;
+    private final ChatRoomSequence chatRoomSequence;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final ChatStreamTransport chatStreamTransport;
+    private final ChatMessageIdGenerator chatMessageIdGenerator;
+    private final ChatMessageWriteBehind chatMessageWriteBehind;
     private final ChatMessageJpaRepository chatMessageJpaRepository;
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     /**
      * 채팅방 메세지 저장
+     * MySQL 저장은 write-behind 큐에 맡기고 바로 반환
+     * Streams 전송 방식이면 스트림 XADD 한 번으로 버퍼/전달/저장 대기를 대신한다 (ChatStreamTransport)
+     * 안 읽은 수 갱신도 모아서 처리하도록 UnreadNotifier 에 표시만 한다
      */
-    @Transactional
     public BaseResponse<Void> saveMessage(String roomId, ChatMessage chatMessage, String userEmail) {
-        String redisKey = "chatRoom:" + roomId + ":messages";
-        Long redisSize = redisTemplate.opsForList().size(redisKey);
-        int redisMaxSize = 20;
+        chatMessage.setId(chatMessageIdGenerator.nextId());
+        if (chatStreamTransport.isEnabled()) {
+            chatStreamTransport.append(roomId, chatMessage, userEmail);
+        } else {
+            recentMessageBuffer.append(roomId, chatMessage);
+            chatMessageWriteBehind.enqueue(chatMessage, userEmail);
+        }
+        unreadNotifier.markDirty(roomId, userEmail, chatMessage.getSeq());
+
+        return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", null);
+    }
+
+    /**
+     * 채팅방들의 저장된 메세지 일괄 삭제 (저장 대기 큐, MySQL, 아카이브, 검색 색인)
+     * 되돌릴 수 없는 아카이브 파일/검색 색인 삭제는 커밋된 뒤에만 수행
+     * Redis 키 정리는 ChatRoomTeardown 에서 한 번에 처리
+     */
+    @Transactional
+    public void deleteMessages(List<String> roomIds) {
+        chatMessageWriteBehind.discardRooms(roomIds);
+        chatMessageJpaRepository.deleteAllByRoomIdIn(roomIds);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                roomIds.forEach(chatArchive::delete);
+                chatSearchIndex.removeRooms(roomIds);
+            }
+        });
+    }
+
+    /**
+     * 채팅방 저장된 메세지 가져오기
+     */
+    public BaseResponse<List<ChatMessage>> getMessages(String roomId) {
+        List<ChatMessage> messages = findRecent(roomId);
+        return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", messages);
+    }
+
+    /**
+     * 채팅방 이전 메세지 조회 (커서 기반)
+     * Redis 버퍼에서 먼저 채우고, 모자라면 (room_id, id) 키셋 조건으로 MySQL에서 이어서 조회
+     * MySQL 에서도 모자라면 정리된 메세지를 보관한 아카이브에서 이어서 조회
+     */
+    @Transactional(readOnly = true)
+    public BaseResponse<ChatMessagePageDto> getMessageHistory(String roomId, Long before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        List<ChatMessage> page = new ArrayList<>(pageSize);
 
-        if (redisSize != null && redisSize >= redisMaxSize) {
-            redisTemplate.opsForList().leftPop(redisKey);
+        List<ChatMessage> hotMessages = findRecent(roomId);
+        for (int i = hotMessages.size() - 1; i >= 0 && page.size() < pageSize; i--) {
+            ChatMessage message = hotMessages.get(i);
+            if (message.getId() != null && (before == null || message.getId() < before)) {
+                page.add(message);
+            }
         }
 
-        redisTemplate.opsForList().rightPush(redisKey, chatMessage);
+        boolean hasNext = true;
+        if (page.size() < pageSize) {
+            Long cursor = page.isEmpty() ? before : page.get(page.size() - 1).getId();
+            int remaining = pageSize - page.size();
+
+            List<ChatMessageEntity> coldMessages = chatMessageJpaRepository.findHistoryBefore(
+                    roomId, cursor != null ? cursor : Long.MAX_VALUE, PageRequest.of(0, remaining + 1));
+
+            hasNext = coldMessages.size() > remaining;
+            coldMessages.stream()
+                    .limit(remaining)
+                    .map(this::convertEntityToDto)
+                    .forEach(page::add);
 
-        int maxMessagesPerRoom = 30;
+            if (!hasNext) {
+                Long archiveCursor = page.isEmpty() ? cursor : page.get(page.size() - 1).getId();
+                int archiveRemaining = pageSize - page.size();
 
-        User sender = userRepository.findByEmail(userEmail).orElseThrow();
-        ChatMessageEntity chatMessageEntity = convertToEntity(chatMessage, sender);
-        chatMessageJpaRepository.save(chatMessageEntity);
+                List<ChatMessage> archived = chatArchive.findBefore(
+                        roomId, archiveCursor != null ? archiveCursor : Long.MAX_VALUE, archiveRemaining + 1);
 
-        long dbSize = chatMessageJpaRepository.countByRoomId(roomId);
-        if (dbSize >= maxMessagesPerRoom) {
-            List<ChatMessageEntity> messagesToDeleteList = chatMessageJpaRepository.findOldestMessages(roomId);
-            chatMessageJpaRepository.deleteAll(messagesToDeleteList);
+                hasNext = archived.size() > archiveRemaining;
+                archived.stream()
+                        .limit(archiveRemaining)
+                        .forEach(page::add);
+            }
         }
 
-        return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", null);
+        Collections.reverse(page);
+        ChatMessagePageDto pageDto = ChatMessagePageDto.builder()
+                .messages(page)
+                .nextCursor(page.isEmpty() ? null : page.get(0).getId())
+                .hasNext(hasNext && !page.isEmpty())
+                .build();
+
+        return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", pageDto);
     }
 
-    @Transactional
-    public BaseResponse<Void> deleteMessages(String roomId) {
-        String key = "chatRoom:" + roomId + ":messages";
-        redisTemplate.delete(key);
+    /**
+     * 재연결 시 놓친 메세지만 조회 (since=마지막으로 받은 seq)
+     * Redis 버퍼가 since 바로 다음 순번부터 갖고 있으면 버퍼만으로 응답하고,
+     * 아니면 MySQL 에서 seq 순으로 채운 뒤 아직 저장되지 않은 최신 메세지는 버퍼에서 이어 붙인다
+     * MySQL 은 채팅방마다 최근 메세지만 남기므로 (나머지는 아카이브) 순번이 since+1 부터 이어지지 않거나
+     * 마지막 페이지가 발급된 순번까지 닿지 않으면 reset 으로 알려서 클라이언트가 최신 기록부터 다시 받게 한다
+     */
+    @Transactional(readOnly = true)
+    public BaseResponse<ChatMessagePageDto> getMessagesSince(String roomId, long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        List<ChatMessage> page = new ArrayList<>(pageSize);
 
-        chatMessageJpaRepository.deleteByRoomId(roomId);
+        // 조회 중에 새로 발급되는 순번 때문에 reset 으로 판단하지 않도록 먼저 읽어둔다
+        long issuedSeq = chatRoomSequence.current(roomId);
 
-        return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", null);
+        List<ChatMessage> hotMessages = findRecent(roomId);
+        boolean bufferCoversGap = !hotMessages.isEmpty()
+                && hotMessages.get(0).getSeq() != null
+                && hotMessages.get(0).getSeq() <= since + 1;
+
+        long cursor = since;
+        if (!bufferCoversGap) {
+            List<ChatMessageEntity> coldMessages = chatMessageJpaRepository.findSince(
+                    roomId, since, PageRequest.of(0, pageSize + 1));
+            coldMessages.stream()
+                    .map(this::convertEntityToDto)
+                    .forEach(page::add);
+
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1).getSeq();
+            }
+        }
+
+        for (ChatMessage message : hotMessages) {
+            if (page.size() > pageSize) {
+                break;
+            }
+            if (message.getSeq() != null && message.getSeq() > cursor) {
+                page.add(message);
+            }
+        }
+
+        boolean hasNext = page.size() > pageSize;
+        if (hasNext) {
+            page = new ArrayList<>(page.subList(0, pageSize));
+        }
+
+        ChatMessagePageDto pageDto = ChatMessagePageDto.builder()
+                .messages(page)
+                .nextCursor(page.isEmpty() ? since : page.get(page.size() - 1).getSeq())
+                .hasNext(hasNext)
+                .reset(hasGap(since, issuedSeq, page, hasNext))
+                .build();
+
+        return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", pageDto);
     }
 
     /**
-     * 채팅방 저장된 메세지 가져오기
+     * since 다음 순번부터 빈틈없이 이어지는지, 마지막 페이지라면 발급된 마지막 순번까지 닿는지 확인
+     * 카운터가 다시 설정되어 since 보다 작아진 경우도 이어 받을 수 없으므로 reset
      */
-    public BaseResponse<List<Object>> getMessages(String roomId) {
-        String key = "chatRoom:" + roomId + ":messages";
-        List<Object> messages = redisTemplate.opsForList().range(key, 0, -1);
-        return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", messages);
+    private boolean hasGap(long since, long issuedSeq, List<ChatMessage> page, boolean hasNext) {
+        long expected = since + 1;
+        for (ChatMessage message : page) {
+            if (message.getSeq() == null || message.getSeq() != expected) {
+                return true;
+            }
+            expected++;
+        }
+        return !hasNext && (issuedSeq >= expected || issuedSeq < since);
     }
 
-    private ChatMessageEntity convertToEntity(ChatMessage chatMessage, User sender) {
-        return ChatMessageEntity.builder()
-                .type(chatMessage.getType())
-                .roomId(chatMessage.getRoomId())
-                .sender(sender)
-                .message(chatMessage.getMessage())
-                .build();
+    /**
+     * 채팅 메세지 검색 (채팅방 또는 사용자 범위)
+     */
+    public BaseResponse<ChatSearchResultDto> searchMessages(String query, String roomId, String userEmail, int page, int size) {
+        if (query == null || query.isBlank() || (roomId == null && userEmail == null)) {
+            throw new BaseException(BaseResponseStatus.ELEMENTS_IS_REQUIRED);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        ChatSearchResultDto result = chatSearchIndex.search(roomId, userEmail, query, Math.max(0, page), pageSize);
+        return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", result);
+    }
+
+    /**
+     * 채팅방 목록의 안 읽은 메세지 수 (Redis 왕복 한 번)
+     */
+    public BaseResponse<Map<String, Long>> getUnreadCounts(String userEmail, List<String> roomIds) {
+        if (roomIds.size() > MAX_HISTORY_PAGE_SIZE) {
+            roomIds = roomIds.subList(0, MAX_HISTORY_PAGE_SIZE);
+        }
+
+        Map<String, Long> unreadCounts = readCursorStore.unreadCounts(userEmail, roomIds);
+        return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", unreadCounts);
+    }
+
+    /**
+     * 채팅방 최근 메세지 (전송 방식에 따라 리스트 버퍼 또는 스트림)
+     */
+    private List<ChatMessage> findRecent(String roomId) {
+        return chatStreamTransport.isEnabled()
+                ? chatStreamTransport.findRecent(roomId)
+                : recentMessageBuffer.findAll(roomId);
     }
 
     /**
@@ -95,10 +267,16 @@ public class ChatMessageService {
 
     private ChatMessage convertEntityToDto(ChatMessageEntity entity) {
         ChatMessage chatMessage = new ChatMessage();
+        chatMessage.setId(entity.getId());
+        chatMessage.setSeq(entity.getSeq());
         chatMessage.setType(entity.getType());
         chatMessage.setRoomId(entity.getRoomId());
         chatMessage.setMessage(entity.getMessage());
 
+        if (entity.getCreatedAt() != null) {
+            chatMessage.setSentAt(entity.getCreatedAt().toString());
+        }
+
         if (entity.getSender() != null) {
             chatMessage.setSender(entity.getSender().getEmail());
         }
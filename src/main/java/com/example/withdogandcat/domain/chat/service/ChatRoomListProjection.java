@@ -0,0 +1,217 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import com.example.withdogandcat.domain.chat.dto.ChatRoomListDto;
+import com.example.withdogandcat.domain.chat.dto.CreatorDto;
+import com.example.withdogandcat.domain.chat.dto.UserInfoDto;
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.ChatRoomEntity;
+import com.example.withdogandcat.domain.chat.redis.RecentMessageBuffer;
+import com.example.withdogandcat.domain.chat.repo.ChatRoomJpaRepository;
+import com.example.withdogandcat.domain.hashtag.chattag.ChatRoomTagDto;
+import com.example.withdogandcat.domain.hashtag.chattag.ChatRoomTagMap;
+import com.example.withdogandcat.domain.hashtag.chattag.ChatRoomTagMapRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatRoomListProjection {
+
+    /**
+     * 채팅방 목록(GET /chat/rooms) 조회용 요약 데이터
+     * chat:room-summary (HASH) : roomId -> 채팅방 이름, 생성자 id/이메일, 태그 (JSON)
+     * chat:room-summary:order (ZSET) : 채팅방 생성 순서 (score = chat_rooms.id)
+     * chat:room-summary:last-talk (HASH) : roomId -> 마지막 TALK 메세지 (메세지 저장 스크립트에서 갱신)
+     * 채팅방 생성/삭제, 태그 변경 때 해당 채팅방만 다시 만들고, 조회는 페이지 크기만큼만 읽는다
+     * 생성자 닉네임/펫은 채팅방과 관계없이 바뀌므로 저장하지 않고 조회할 때 MemberProfileCardLoader 로 한 번에 채운다
+     */
+
+    public static final String SUMMARY_KEY = "chat:room-summary";
+    public static final String ORDER_KEY = "chat:room-summary:order";
+
+    private final ObjectMapper objectMapper;
+    private final ChatMessageService chatMessageService;
+    private final MemberProfileCardLoader memberProfileCardLoader;
+    private final ChatRoomJpaRepository chatRoomJpaRepository;
+    private final ChatRoomTagMapRepository chatRoomTagMapRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisTemplate<String, ChatMessage> chatMessageRedisTemplate;
+
+    /**
+     * 요약 데이터가 없으면 (처음 배포, Redis 초기화) 전체 채팅방으로 한 번 채운다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIfEmpty() {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(ORDER_KEY))) {
+            return;
+        }
+
+        List<ChatRoomEntity> rooms = chatRoomJpaRepository.findAll();
+        rooms.forEach(room -> {
+            upsert(room);
+            seedLastTalk(room.getRoomId());
+        });
+        log.info("채팅방 목록 요약 데이터 생성: {}개", rooms.size());
+    }
+
+    /**
+     * 채팅방 요약 갱신 (생성, 태그 변경)
+     * 요약은 호출한 트랜잭션 안에서 만들고, Redis 반영은 커밋된 뒤에 한다 (롤백되면 반영하지 않음)
+     */
+    public ChatRoomListDto upsert(ChatRoomEntity room) {
+        List<ChatRoomTagDto> tags = chatRoomTagMapRepository.findByChatRoom(room).stream()
+                .map(ChatRoomTagMap::getChatRoomTag)
+                .map(ChatRoomTagDto::from)
+                .collect(Collectors.toList());
+
+        ChatRoomListDto summary = ChatRoomListDto.builder()
+                .roomId(room.getRoomId())
+                .name(room.getName())
+                .creator(CreatorDto.builder()
+                        .userId(room.getCreatorId().getUserId())
+                        .email(room.getCreatorId().getEmail())
+                        .build())
+                .tags(tags)
+                .build();
+
+        String roomId = room.getRoomId();
+        Long order = room.getId();
+        afterCommit(() -> {
+            try {
+                redisTemplate.opsForHash().put(SUMMARY_KEY, roomId, objectMapper.writeValueAsString(summary));
+                redisTemplate.opsForZSet().add(ORDER_KEY, roomId, order);
+            } catch (JsonProcessingException e) {
+                log.error("채팅방 요약 저장 오류: {}", roomId, e);
+            }
+        });
+        return summary;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 채팅방 요약 일괄 삭제 (마지막 메세지는 RecentMessageBuffer 에서 삭제)
+     */
+    public void remove(Collection<String> roomIds) {
+        Object[] fields = roomIds.toArray();
+        redisTemplate.opsForZSet().remove(ORDER_KEY, fields);
+        redisTemplate.opsForHash().delete(SUMMARY_KEY, fields);
+    }
+
+    /**
+     * 생성 순서대로 page 번째 페이지 조회 (size 가 0 이하면 전체)
+     */
+    public List<ChatRoomListDto> findPage(int page, int size) {
+        long start = size > 0 ? (long) page * size : 0;
+        long end = size > 0 ? start + size - 1 : -1;
+
+        Set<String> ordered = redisTemplate.opsForZSet().range(ORDER_KEY, start, end);
+        if (ordered == null || ordered.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Object> roomIds = new ArrayList<>(ordered);
+        List<Object> summaries = redisTemplate.opsForHash().multiGet(SUMMARY_KEY, roomIds);
+        List<ChatMessage> lastTalks = chatMessageRedisTemplate.<Object, ChatMessage>opsForHash()
+                .multiGet(RecentMessageBuffer.LAST_TALK_KEY, roomIds);
+
+        List<ChatRoomListDto> found = new ArrayList<>(roomIds.size());
+        for (int i = 0; i < roomIds.size(); i++) {
+            found.add(readSummary((String) roomIds.get(i), (String) summaries.get(i)));
+        }
+
+        Map<String, UserInfoDto> cards = memberProfileCardLoader.loadByEmails(found.stream()
+                        .filter(Objects::nonNull)
+                        .map(summary -> summary.getCreator().getEmail())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(UserInfoDto::getEmail, card -> card, (first, second) -> first));
+
+        List<ChatRoomListDto> result = new ArrayList<>(roomIds.size());
+        for (int i = 0; i < roomIds.size(); i++) {
+            ChatRoomListDto summary = found.get(i);
+            if (summary == null) {
+                continue;
+            }
+
+            result.add(ChatRoomListDto.builder()
+                    .roomId(summary.getRoomId())
+                    .name(summary.getName())
+                    .creator(toCreator(summary.getCreator(), cards.get(summary.getCreator().getEmail())))
+                    .lastTalkMessage(lastTalks != null ? lastTalks.get(i) : null)
+                    .tags(summary.getTags())
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 저장된 생성자 id/이메일에 현재 프로필 카드를 채운다 (카드를 찾지 못하면 저장된 값 그대로)
+     */
+    private static CreatorDto toCreator(CreatorDto stored, UserInfoDto card) {
+        if (card == null) {
+            return stored;
+        }
+
+        return CreatorDto.builder()
+                .userId(card.getUserId())
+                .email(card.getEmail())
+                .nickname(card.getNickname())
+                .pets(card.getPets())
+                .build();
+    }
+
+    /**
+     * 요약이 빠져 있으면 해당 채팅방만 다시 만든다 (없는 채팅방이면 목록에서 제거)
+     */
+    private ChatRoomListDto readSummary(String roomId, String json) {
+        if (json == null) {
+            return chatRoomJpaRepository.findByRoomId(roomId)
+                    .map(this::upsert)
+                    .orElseGet(() -> {
+                        remove(List.of(roomId));
+                        return null;
+                    });
+        }
+
+        try {
+            return objectMapper.readValue(json, ChatRoomListDto.class);
+        } catch (JsonProcessingException e) {
+            log.error("채팅방 요약 읽기 오류: {}", roomId, e);
+            return null;
+        }
+    }
+
+    private void seedLastTalk(String roomId) {
+        ChatMessage lastTalk = chatMessageService.getLastTalkMessage(roomId);
+        if (lastTalk != null) {
+            chatMessageRedisTemplate.opsForHash().putIfAbsent(RecentMessageBuffer.LAST_TALK_KEY, roomId, lastTalk);
+        }
+    }
+
+}
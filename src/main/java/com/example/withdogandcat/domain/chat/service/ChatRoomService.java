@@ -5,8 +5,6 @@ import com.example.withdogandcat.domain.chat.entity.ChatRoomEntity;
 import com.example.withdogandcat.domain.chat.repo.ChatRoomJpaRepository;
 import com.example.withdogandcat.domain.chat.repo.ChatRoomRepository;
 import com.example.withdogandcat.domain.chat.util.ChatRoomMapper;
-import com.example.withdogandcat.domain.hashtag.chattag.*;
-import com.example.withdogandcat.domain.mypage.MyPageService;
 import com.example.withdogandcat.domain.pet.PetRepository;
 import com.example.withdogandcat.domain.pet.dto.PetResponseDto;
 import com.example.withdogandcat.domain.pet.entity.Pet;
@@ -31,15 +29,13 @@ import java.util.stream.Collectors;
 public class ChatRoomService {
 
     private final PetRepository petRepository;
-    private final MyPageService myPageService;
     private final UserRepository userRepository;
     private final ChatRoomRepository chatRoomRepository;
-    private final ChatMessageService chatMessageService;
-    private final ChatRoomTagService chatRoomTagService;
     private final ChatRoomJpaRepository chatRoomJpaRepository;
+    private final ChatRoomTeardown chatRoomTeardown;
+    private final ChatRoomListProjection chatRoomListProjection;
+    private final MemberProfileCardLoader memberProfileCardLoader;
     private final RedisTemplate<String, String> redisTemplate;
-    private final ChatRoomTagRepository chatRoomTagRepository;
-    private final ChatRoomTagMapRepository chatRoomTagMapRepository;
 
     private final int MAX_ROOM_COUNT = 2;
 
@@ -69,6 +65,8 @@ public class ChatRoomService {
             chatRoomRepository.createChatRoom(chatRoomEntity.getRoomId(), name, user.getUserId());
         }
 
+        chatRoomListProjection.upsert(chatRoomEntity);
+
         List<Pet> pets = petRepository.findByUser(user);
         List<PetResponseDto> petDtos = pets.stream()
                 .map(PetResponseDto::from)
@@ -88,34 +86,18 @@ public class ChatRoomService {
             throw new BaseException(BaseResponseStatus.AUTHENTICATION_FAILED);
         }
 
-        List<ChatRoomTagMap> tagMaps = chatRoomTagMapRepository.findByChatRoom(chatRoomEntity);
-        for (ChatRoomTagMap tagMap : tagMaps) {
-            ChatRoomTag chatRoomTag = tagMap.getChatRoomTag();
-            chatRoomTagMapRepository.delete(tagMap);
-
-            long count = chatRoomTagMapRepository.countByChatRoomTag(chatRoomTag);
-            if (count == 0) {
-                chatRoomTagRepository.delete(chatRoomTag);
-            }
-        }
-
-        redisTemplate.delete("chatRoom:" + roomId + ":members");
-        chatMessageService.deleteMessages(roomId);
-        chatRoomRepository.deleteRoom(roomId);
-        chatRoomJpaRepository.delete(chatRoomEntity);
+        chatRoomTeardown.teardown(List.of(chatRoomEntity));
 
         return new BaseResponse<>(BaseResponseStatus.SUCCESS, "채팅방 삭제 성공", null);
     }
 
+    /**
+     * 채팅방 목록 조회
+     * 미리 만들어둔 요약 데이터(ChatRoomListProjection)에서 페이지 크기만큼만 읽는다
+     */
     @Transactional(readOnly = true)
-    public BaseResponse<List<ChatRoomListDto>> findAllRoomListDtos() {
-        List<ChatRoomEntity> chatRoomEntities = chatRoomJpaRepository.findAll();
-        List<ChatRoomListDto> chatRoomListDtos = chatRoomEntities.stream()
-                .map(room -> {
-                    List<ChatRoomTagDto> tags = chatRoomTagService.getTagsForChatRoom(room.getRoomId());
-                    return ChatRoomMapper.toChatRoomListDto(
-                            room, chatMessageService.getLastTalkMessage(room.getRoomId()), tags, petRepository);
-                }).collect(Collectors.toList());
+    public BaseResponse<List<ChatRoomListDto>> findAllRoomListDtos(int page, int size) {
+        List<ChatRoomListDto> chatRoomListDtos = chatRoomListProjection.findPage(Math.max(page, 0), size);
 
         return new BaseResponse<>(BaseResponseStatus.SUCCESS, "채팅방 목록 조회 성공", chatRoomListDtos);
     }
@@ -126,24 +108,9 @@ public class ChatRoomService {
                 .orElseThrow(() -> new BaseException(BaseResponseStatus.CHATROOM_NOT_FOUND));
 
         Set<String> memberEmails = redisTemplate.opsForSet().members("chatRoom:" + roomId + ":members");
-        List<String> memberEmailList = new ArrayList<>(memberEmails);
-        List<User> members = userRepository.findAllByEmailIn(memberEmailList);
-
-        List<UserInfoDto> memberDtos = members.stream()
-                .map(user -> {
-                    try {
-                        BaseResponse<List<PetResponseDto>> petsResponse = myPageService.getUserPets(user);
-                        List<PetResponseDto> petDtos = petsResponse.getResult();
-                        return new UserInfoDto(
-                                user.getUserId(),
-                                user.getEmail(),
-                                user.getNickname(),
-                                petDtos
-                        );
-                    } catch (Exception e) {
-                        return new UserInfoDto(user.getUserId(), user.getEmail(), user.getNickname(), null);
-                    }
-                }).collect(Collectors.toList());
+        List<UserInfoDto> memberDtos = memberEmails == null || memberEmails.isEmpty()
+                ? new ArrayList<>()
+                : memberProfileCardLoader.loadByEmails(memberEmails);
 
         ChatRoomDetailDto chatRoomDetailDto = new ChatRoomDetailDto(
                 chatRoomEntity.getRoomId(),
@@ -0,0 +1,92 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import com.example.withdogandcat.domain.chat.entity.ChatRoomEntity;
+import com.example.withdogandcat.domain.chat.heartbeat.PresenceService;
+import com.example.withdogandcat.domain.chat.redis.ChatStreamTransport;
+import com.example.withdogandcat.domain.chat.redis.ReadCursorStore;
+import com.example.withdogandcat.domain.chat.redis.RecentMessageBuffer;
+import com.example.withdogandcat.domain.chat.repo.ChatRoomJpaRepository;
+import com.example.withdogandcat.domain.chat.repo.ChatRoomRepository;
+import com.example.withdogandcat.domain.hashtag.chattag.ChatRoomTagMapRepository;
+import com.example.withdogandcat.domain.hashtag.chattag.ChatRoomTagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatRoomTeardown {
+
+    /**
+     * 채팅방 일괄 삭제
+     * 태그 연결/고아 태그/메세지/채팅방을 각각 벌크 쿼리 한 번씩 처리하고
+     * Redis 정리는 커밋 후에 키를 관리하는 클래스마다 일괄 명령(여러 키 DEL/HDEL/SREM, 파이프라인)으로 처리
+     * -> 실행하는 쿼리/명령 수가 채팅방의 메세지 수, 태그 수, 참여자 수와 관계없이 일정하다
+     */
+
+    private final PresenceService presenceService;
+    private final ReadCursorStore readCursorStore;
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatMessageService chatMessageService;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final ChatStreamTransport chatStreamTransport;
+    private final ChatRoomListProjection chatRoomListProjection;
+    private final ChatRoomJpaRepository chatRoomJpaRepository;
+    private final ChatRoomTagRepository chatRoomTagRepository;
+    private final ChatRoomTagMapRepository chatRoomTagMapRepository;
+
+    @Transactional
+    public void teardown(List<ChatRoomEntity> chatRooms) {
+        if (chatRooms.isEmpty()) {
+            return;
+        }
+
+        List<String> roomIds = chatRooms.stream()
+                .map(ChatRoomEntity::getRoomId)
+                .collect(Collectors.toList());
+
+        List<Long> tagIds = chatRoomTagMapRepository.findTagIdsByChatRoomIn(chatRooms);
+        chatRoomTagMapRepository.deleteAllByChatRoomIn(chatRooms);
+        if (!tagIds.isEmpty()) {
+            chatRoomTagRepository.deleteOrphansByIdIn(tagIds);
+        }
+
+        chatMessageService.deleteMessages(roomIds);
+        chatRoomJpaRepository.deleteAllInBatch(chatRooms);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cleanupRedis(roomIds);
+            }
+        });
+    }
+
+    /**
+     * 채팅방 관련 키 정리, 한 단계가 실패해도 나머지는 계속 정리한다
+     */
+    private void cleanupRedis(List<String> roomIds) {
+        cleanup("채팅방", roomIds, () -> chatRoomRepository.deleteRooms(roomIds));
+        cleanup("참여자", roomIds, () -> presenceService.removeRooms(roomIds));
+        cleanup("최근 메세지", roomIds, () -> recentMessageBuffer.delete(roomIds));
+        cleanup("읽음 위치", roomIds, () -> readCursorStore.delete(roomIds));
+        cleanup("스트림", roomIds, () -> chatStreamTransport.delete(roomIds));
+        cleanup("목록 요약", roomIds, () -> chatRoomListProjection.remove(roomIds));
+    }
+
+    private void cleanup(String target, List<String> roomIds, Runnable step) {
+        try {
+            step.run();
+        } catch (Exception e) {
+            log.error("레디스에서 채팅방 {} 정리 오류: {}", target, roomIds, e);
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import com.example.withdogandcat.domain.chat.config.RoomSubscriptionTracker;
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class LocalRoomBroadcaster {
+
+    /**
+     * 이 노드에 붙어있는 구독자에게 채팅방 메세지 전달
+     * 로컬 구독자가 없는 채팅방은 변환/전송 없이 건너뛴다
+     * 일시적 이벤트(입력 중 표시 등)는 /sub/chat/room/{roomId}/events 로 전달
+     * chat.coalesce.enabled 면 붐비는 채팅방 메세지는 RoomFrameCoalescer 가 묶어서 ChatMessage 배열로 전달 (content-shape:batch 헤더)
+     */
+
+    public static final String EVENTS_DESTINATION_SUFFIX = "/events";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final RoomFrameCoalescer roomFrameCoalescer;
+    private final RoomSubscriptionTracker roomSubscriptionTracker;
+
+    public void deliver(ChatMessage message) {
+        if (!roomSubscriptionTracker.hasLocalSubscribers(message.getRoomId())) {
+            return;
+        }
+
+        String destination = RoomSubscriptionTracker.ROOM_DESTINATION_PREFIX + message.getRoomId();
+        if (message.getType() != null && message.getType().isEphemeral()) {
+            messagingTemplate.convertAndSend(destination + EVENTS_DESTINATION_SUFFIX, message);
+            return;
+        }
+
+        if (roomFrameCoalescer.isEnabled()) {
+            roomFrameCoalescer.submit(destination, message);
+            return;
+        }
+
+        messagingTemplate.convertAndSend(destination, message);
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import com.example.withdogandcat.domain.chat.dto.UserInfoDto;
+import com.example.withdogandcat.domain.pet.PetRepository;
+import com.example.withdogandcat.domain.pet.dto.PetResponseDto;
+import com.example.withdogandcat.domain.pet.entity.Pet;
+import com.example.withdogandcat.domain.user.UserRepository;
+import com.example.withdogandcat.domain.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class MemberProfileCardLoader {
+
+    /**
+     * 채팅방 참여자 프로필 카드(사용자 + 펫 + 이미지) 일괄 조회
+     * 캐시에 없는 사용자만 모아서 사용자 IN 조회 1번, 펫+이미지 IN 조회 1번으로 채운다
+     * 같은 채팅방 상세를 반복 조회할 때를 위해 짧은 TTL 로 사용자별 카드를 메모리에 보관
+     */
+
+    private final PetRepository petRepository;
+    private final UserRepository userRepository;
+
+    @Value("${chat.profile-card.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${chat.profile-card.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, CachedCard> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 이메일 순서와 관계없이 찾은 사용자 카드만 반환 (탈퇴 등으로 없는 사용자는 제외)
+     */
+    public List<UserInfoDto> loadByEmails(Collection<String> emails) {
+        long now = System.currentTimeMillis();
+        List<UserInfoDto> cards = new ArrayList<>(emails.size());
+        List<String> misses = new ArrayList<>();
+
+        for (String email : emails) {
+            CachedCard cached = cache.get(email);
+            if (cached != null && cached.expiresAt > now) {
+                cards.add(cached.card);
+            } else {
+                misses.add(email);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            List<UserInfoDto> loaded = load(misses);
+            cards.addAll(loaded);
+
+            if (cache.size() + loaded.size() > maxEntries) {
+                cache.values().removeIf(cached -> cached.expiresAt <= now);
+            }
+            if (cache.size() + loaded.size() <= maxEntries) {
+                loaded.forEach(card -> cache.put(card.getEmail(), new CachedCard(card, now + ttlMs)));
+            }
+        }
+
+        return cards;
+    }
+
+    /**
+     * 사용자/펫 정보가 바뀐 사용자의 카드 제거 (이 노드 캐시만, 다른 노드는 TTL 로 만료)
+     * 트랜잭션 중이면 커밋 후에 제거해서 커밋 전 값이 다시 캐시되지 않게 한다
+     */
+    public void evict(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.remove(email);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.remove(email);
+            }
+        });
+    }
+
+    private List<UserInfoDto> load(List<String> emails) {
+        List<User> users = userRepository.findAllByEmailIn(emails);
+        if (users.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, List<PetResponseDto>> petsByUser = petRepository.findAllWithImagesByUserIn(users).stream()
+                .map(PetResponseDto::from)
+                .collect(Collectors.groupingBy(PetResponseDto::getUserId));
+
+        return users.stream()
+                .map(user -> new UserInfoDto(
+                        user.getUserId(),
+                        user.getEmail(),
+                        user.getNickname(),
+                        petsByUser.getOrDefault(user.getUserId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedCard {
+
+        private final UserInfoDto card;
+        private final long expiresAt;
+
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomFrameCoalescer {
+
+    /**
+     * 붐비는 채팅방 메세지를 짧은 시간 모아서 한 프레임(ChatMessage 배열)으로 전달 (chat.coalesce.enabled)
+     * 채팅방별 초당 메세지 수가 min-rate-per-second 미만이면 지금처럼 바로 한 건씩 전달
+     * 넘으면 target-batch 건이 모일 만큼의 시간(min-window-ms ~ max-window-ms)을 기다렸다가 한 번에 전달
+     * 모으는 중에 도착한 메세지는 비율과 관계없이 같은 묶음에 붙여서 순서를 지킨다
+     *
+     * 클라이언트 계약: 묶음은 한 건짜리와 같은 destination(/sub/chat/room/{roomId})으로 가고
+     * STOMP 헤더 content-shape:batch 가 붙은 프레임만 본문이 ChatMessage 배열이다 (헤더가 없으면 ChatMessage 한 건)
+     * 같은 destination 을 쓰므로 한 건짜리와 묶음 사이의 순서가 유지된다
+     */
+
+    public static final String CONTENT_SHAPE_HEADER = "content-shape";
+    public static final String BATCH_CONTENT_SHAPE = "batch";
+
+    private static final long RATE_BUCKET_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long IDLE_EVICT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    @Value("${chat.coalesce.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chat.coalesce.min-rate-per-second:20}")
+    private double minRatePerSecond;
+
+    @Value("${chat.coalesce.target-batch:10}")
+    private int targetBatch;
+
+    @Value("${chat.coalesce.max-batch:50}")
+    private int maxBatch;
+
+    @Value("${chat.coalesce.min-window-ms:5}")
+    private long minWindowMs;
+
+    @Value("${chat.coalesce.max-window-ms:50}")
+    private long maxWindowMs;
+
+    private final Map<String, RoomWindow> windows = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    private Counter immediateCounter;
+    private Counter coalescedFrameCounter;
+    private Counter coalescedMessageCounter;
+    private DistributionSummary batchSizeSummary;
+
+    @PostConstruct
+    private void init() {
+        immediateCounter = meterRegistry.counter("chat.coalesce.frames", "mode", "immediate");
+        coalescedFrameCounter = meterRegistry.counter("chat.coalesce.frames", "mode", "batched");
+        coalescedMessageCounter = meterRegistry.counter("chat.coalesce.messages");
+        batchSizeSummary = meterRegistry.summary("chat.coalesce.batch.size");
+
+        if (!enabled) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-coalesce");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::evictIdle, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 채팅방 메세지 전달 (바로 보내거나 묶음에 추가)
+     */
+    public void submit(String destination, ChatMessage message) {
+        RoomWindow window = windows.computeIfAbsent(destination, RoomWindow::new);
+
+        synchronized (window) {
+            long now = System.nanoTime();
+            window.record(now);
+
+            if (window.pending == null && window.rate < minRatePerSecond) {
+                messagingTemplate.convertAndSend(destination, message);
+                immediateCounter.increment();
+                return;
+            }
+
+            if (window.pending == null) {
+                window.pending = new ArrayList<>(targetBatch);
+                scheduler.schedule(() -> flush(window), windowMs(window.rate), TimeUnit.MILLISECONDS);
+            }
+
+            window.pending.add(message);
+            if (window.pending.size() >= maxBatch) {
+                send(window);
+            }
+        }
+    }
+
+    private void flush(RoomWindow window) {
+        try {
+            synchronized (window) {
+                send(window);
+            }
+        } catch (Exception e) {
+            log.error("채팅방 메세지 묶음 전달 오류: {}", window.destination, e);
+        }
+    }
+
+    /**
+     * 모인 메세지를 한 프레임으로 전달 (호출 전에 window 잠금 필요)
+     * 예약된 flush 가 나중에 실행돼도 pending 이 비어 있으면 아무것도 하지 않는다
+     */
+    private void send(RoomWindow window) {
+        List<ChatMessage> batch = window.pending;
+        window.pending = null;
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        messagingTemplate.convertAndSend(window.destination, batch, Map.of(CONTENT_SHAPE_HEADER, BATCH_CONTENT_SHAPE));
+        coalescedFrameCounter.increment();
+        coalescedMessageCounter.increment(batch.size());
+        batchSizeSummary.record(batch.size());
+    }
+
+    /**
+     * target-batch 건이 모이는 데 걸리는 예상 시간
+     */
+    long windowMs(double rate) {
+        long expected = (long) (1000.0 * targetBatch / Math.max(rate, 1.0));
+        return Math.max(minWindowMs, Math.min(maxWindowMs, expected));
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        windows.values().removeIf(window -> {
+            synchronized (window) {
+                return window.pending == null && now - window.lastArrival > IDLE_EVICT_NANOS;
+            }
+        });
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        windows.values().forEach(this::flush);
+    }
+
+    /**
+     * 채팅방별 도착 비율(직전 1초 구간 기준)과 모으는 중인 메세지
+     */
+    private static class RoomWindow {
+
+        private final String destination;
+        private long bucketStart = System.nanoTime();
+        private long bucketCount;
+        private long lastArrival;
+        private double rate;
+        private List<ChatMessage> pending;
+
+        RoomWindow(String destination) {
+            this.destination = destination;
+        }
+
+        void record(long now) {
+            long elapsed = now - bucketStart;
+            if (elapsed >= RATE_BUCKET_NANOS) {
+                rate = elapsed < 2 * RATE_BUCKET_NANOS ? bucketCount * 1e9 / elapsed : 0;
+                bucketStart = now;
+                bucketCount = 0;
+            }
+            bucketCount++;
+            rate = Math.max(rate, bucketCount * 1e9 / RATE_BUCKET_NANOS);
+            lastArrival = now;
+        }
+
+    }
+
+}
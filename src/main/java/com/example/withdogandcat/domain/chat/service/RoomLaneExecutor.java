@@ -0,0 +1,132 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import com.example.withdogandcat.global.exception.BaseException;
+import com.example.withdogandcat.global.exception.BaseResponseStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomLaneExecutor {
+
+    /**
+     * 채팅방별 순서 보장 실행기
+     * roomId 해시로 고정된 레인(단일 스레드 + 제한된 큐)에 배정 -> 같은 채팅방은 도착 순서대로, 다른 채팅방은 병렬로 처리
+     * 레인 큐가 가득 차면 받지 않고 CHAT_SERVER_BUSY 로 거절해서 붐비는 채팅방 하나가 다른 레인을 막지 않는다
+     */
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.lane.count:16}")
+    private int laneCount;
+
+    @Value("${chat.lane.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${chat.lane.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    private Lane[] lanes;
+
+    @PostConstruct
+    private void init() {
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i);
+        }
+    }
+
+    /**
+     * 채팅방 레인에서 실행 (큐가 가득 차면 BaseException(CHAT_SERVER_BUSY))
+     */
+    public void execute(String roomId, Runnable task) {
+        Lane lane = lanes[laneIndex(roomId)];
+        long submittedAt = System.nanoTime();
+
+        try {
+            lane.executor.execute(() -> {
+                lane.waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("채팅방 레인 작업 오류: {}", roomId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            lane.rejectedCounter.increment();
+            throw new BaseException(BaseResponseStatus.CHAT_SERVER_BUSY);
+        }
+    }
+
+    private int laneIndex(String roomId) {
+        int hash = roomId.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, lanes.length);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        for (Lane lane : lanes) {
+            lane.executor.shutdown();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        for (Lane lane : lanes) {
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !lane.executor.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                    log.warn("채팅방 레인 종료 대기 시간 초과, 남은 작업: {}건", lane.executor.getQueue().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private class Lane {
+
+        private final ThreadPoolExecutor executor;
+        private final Counter rejectedCounter;
+        private final Timer waitTimer;
+
+        Lane(int index) {
+            String laneTag = String.valueOf(index);
+
+            executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "chat-lane-" + laneTag);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+
+            Gauge.builder("chat.lane.queue.size", executor, e -> e.getQueue().size())
+                    .tag("lane", laneTag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("chat.lane.completed", executor, ThreadPoolExecutor::getCompletedTaskCount)
+                    .tag("lane", laneTag)
+                    .register(meterRegistry);
+            rejectedCounter = meterRegistry.counter("chat.lane.rejected", "lane", laneTag);
+            waitTimer = meterRegistry.timer("chat.lane.wait", "lane", laneTag);
+        }
+
+    }
+
+}
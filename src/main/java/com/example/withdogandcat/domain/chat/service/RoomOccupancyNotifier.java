@@ -0,0 +1,87 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import com.example.withdogandcat.domain.chat.heartbeat.PresenceService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomOccupancyNotifier implements MessageListener {
+
+    /**
+     * 채팅방 인원 수 실시간 알림
+     * 입장/퇴장/비활동 정리로 인원이 바뀐 채팅방을 모아두었다가 1초에 한 번 SCARD 를 파이프라인으로 조회하고
+     * 여러 채팅방 인원을 한 메세지로 묶어 Redis 채널로 발행 -> 각 노드가 /sub/chat/rooms/occupancy 로 전달
+     */
+
+    public static final String OCCUPANCY_CHANNEL = "chat:occupancy";
+    public static final String OCCUPANCY_DESTINATION = "/sub/chat/rooms/occupancy";
+
+    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    private final Set<String> dirtyRooms = ConcurrentHashMap.newKeySet();
+
+    public void markDirty(String roomId) {
+        dirtyRooms.add(roomId);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.occupancy.flush-interval-ms:1000}")
+    public void flush() {
+        if (dirtyRooms.isEmpty()) {
+            return;
+        }
+
+        List<String> roomIds = new ArrayList<>(dirtyRooms);
+        dirtyRooms.removeAll(roomIds);
+
+        try {
+            List<Object> counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                roomIds.forEach(roomId -> connection.setCommands()
+                        .sCard(PresenceService.membersKey(roomId).getBytes(StandardCharsets.UTF_8)));
+                return null;
+            });
+
+            Map<String, Long> occupancy = new LinkedHashMap<>();
+            for (int i = 0; i < roomIds.size(); i++) {
+                Object count = counts.get(i);
+                occupancy.put(roomIds.get(i), count instanceof Long ? (Long) count : 0L);
+            }
+
+            redisTemplate.convertAndSend(OCCUPANCY_CHANNEL, objectMapper.writeValueAsString(occupancy));
+
+        } catch (Exception e) {
+            dirtyRooms.addAll(roomIds);
+            log.error("채팅방 인원 알림 오류", e);
+        }
+    }
+
+    /**
+     * 다른 노드(자기 자신 포함)가 발행한 인원 변경을 이 노드 구독자에게 전달
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Map<String, Long> occupancy = objectMapper.readValue(message.getBody(), new TypeReference<>() {});
+            messagingTemplate.convertAndSend(OCCUPANCY_DESTINATION, occupancy);
+        } catch (Exception e) {
+            log.error("채팅방 인원 알림 수신 오류", e);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import com.example.withdogandcat.domain.chat.redis.ReadCursorStore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnreadNotifier implements MessageListener {
+
+    /**
+     * 안 읽은 메세지 수 실시간 알림
+     * 메세지가 저장된 채팅방과 보낸 사람의 seq 를 모아두었다가 주기적으로 한 번에 읽음 위치를 갱신하고
+     * 사용자별로 바뀐 안 읽은 수를 Redis 채널로 발행 -> 각 노드가 자기 세션의 사용자에게 /user/sub/unread 로 전달
+     * 입장만 하고 채팅방을 보고 있지 않은 참여자도 있으므로 받은 사람은 자동으로 읽음 처리하지 않고,
+     * 보고 있는 클라이언트가 /pub/chat/read 로 읽은 위치를 보내면 그때 올린다
+     */
+
+    public static final String UNREAD_CHANNEL = "chat:unread";
+    public static final String UNREAD_DESTINATION = "/sub/unread";
+
+    private final ObjectMapper objectMapper;
+    private final ReadCursorStore readCursorStore;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    private final Map<String, Map<String, Long>> dirtyRooms = new ConcurrentHashMap<>();
+
+    /**
+     * 채팅방에 새 메세지가 저장됨 (보낸 사람의 읽음 위치는 이 메세지까지)
+     */
+    public void markDirty(String roomId, String senderEmail, Long seq) {
+        if (seq == null) {
+            return;
+        }
+        dirtyRooms.compute(roomId, (key, senders) -> {
+            Map<String, Long> merged = senders != null ? senders : new HashMap<>();
+            merged.merge(senderEmail, seq, Math::max);
+            return merged;
+        });
+    }
+
+    /**
+     * 읽음 처리 후 남은 안 읽은 수를 같은 사용자의 다른 세션(기기)에도 알린다
+     */
+    public long markRead(String userEmail, String roomId, long seq) {
+        long unread = readCursorStore.markRead(userEmail, roomId, seq);
+        publish(Map.of(userEmail, Map.of(roomId, unread)));
+        return unread;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.unread.flush-interval-ms:1000}")
+    public void flush() {
+        if (dirtyRooms.isEmpty()) {
+            return;
+        }
+
+        Map<String, Map<String, Long>> senderSeqs = new LinkedHashMap<>();
+        for (String roomId : new ArrayList<>(dirtyRooms.keySet())) {
+            Map<String, Long> senders = dirtyRooms.remove(roomId);
+            if (senders != null) {
+                senderSeqs.put(roomId, senders);
+            }
+        }
+
+        try {
+            Map<String, Map<String, Long>> unreadByUser = readCursorStore.advance(senderSeqs);
+            if (!unreadByUser.isEmpty()) {
+                publish(unreadByUser);
+            }
+
+        } catch (Exception e) {
+            senderSeqs.forEach((roomId, senders) ->
+                    senders.forEach((senderEmail, seq) -> markDirty(roomId, senderEmail, seq)));
+            log.error("안 읽은 메세지 알림 오류", e);
+        }
+    }
+
+    private void publish(Map<String, Map<String, Long>> unreadByUser) {
+        try {
+            redisTemplate.convertAndSend(UNREAD_CHANNEL, objectMapper.writeValueAsString(unreadByUser));
+        } catch (Exception e) {
+            log.error("안 읽은 메세지 알림 발행 오류", e);
+        }
+    }
+
+    /**
+     * 발행된 안 읽은 수를 이 노드에 연결된 사용자에게만 전달 (연결이 없는 사용자는 user destination 에서 무시됨)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Map<String, Map<String, Long>> unreadByUser = objectMapper.readValue(message.getBody(), new TypeReference<>() {});
+            unreadByUser.forEach((userEmail, unread) ->
+                    messagingTemplate.convertAndSendToUser(userEmail, UNREAD_DESTINATION, unread));
+        } catch (Exception e) {
+            log.error("안 읽은 메세지 알림 수신 오류", e);
+        }
+    }
+
+}
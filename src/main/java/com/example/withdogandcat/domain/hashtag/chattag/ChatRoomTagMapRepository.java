@@ -3,7 +3,9 @@ package com.example.withdogandcat.domain.hashtag.chattag;
 import com.example.withdogandcat.domain.chat.entity.ChatRoomEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,4 +22,11 @@ public interface ChatRoomTagMapRepository extends JpaRepository<ChatRoomTagMap,
     @Query("SELECT t.id, t.name, COUNT(t) as frequency FROM ChatRoomTag t JOIN ChatRoomTagMap c ON t.id = c.chatRoomTag.id GROUP BY t.name ORDER BY frequency DESC")
     List<Object[]> findChatRoomTagUsageFrequency(Pageable pageable);
 
+    @Query("SELECT DISTINCT m.chatRoomTag.id FROM ChatRoomTagMap m WHERE m.chatRoom IN :chatRooms")
+    List<Long> findTagIdsByChatRoomIn(@Param("chatRooms") List<ChatRoomEntity> chatRooms);
+
+    @Modifying
+    @Query("DELETE FROM ChatRoomTagMap m WHERE m.chatRoom IN :chatRooms")
+    int deleteAllByChatRoomIn(@Param("chatRooms") List<ChatRoomEntity> chatRooms);
+
 }
@@ -1,12 +1,24 @@
 package com.example.withdogandcat.domain.hashtag.chattag;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ChatRoomTagRepository extends JpaRepository<ChatRoomTag, Long> {
     Optional<ChatRoomTag> findByName(String name);
 
+    /**
+     * 주어진 태그 중 더 이상 어떤 채팅방에도 연결되지 않은 태그를 한 번에 삭제
+     */
+    @Modifying
+    @Query("DELETE FROM ChatRoomTag t WHERE t.id IN :tagIds "
+            + "AND NOT EXISTS (SELECT m.id FROM ChatRoomTagMap m WHERE m.chatRoomTag.id = t.id)")
+    int deleteOrphansByIdIn(@Param("tagIds") List<Long> tagIds);
+
 }
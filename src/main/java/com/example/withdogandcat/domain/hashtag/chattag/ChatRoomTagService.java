@@ -3,6 +3,7 @@ package com.example.withdogandcat.domain.hashtag.chattag;
 import com.example.withdogandcat.domain.chat.dto.ChatRoomDto;
 import com.example.withdogandcat.domain.chat.entity.ChatRoomEntity;
 import com.example.withdogandcat.domain.chat.repo.ChatRoomJpaRepository;
+import com.example.withdogandcat.domain.chat.service.ChatRoomListProjection;
 import com.example.withdogandcat.domain.chat.util.ChatRoomMapper;
 import com.example.withdogandcat.domain.pet.PetRepository;
 import com.example.withdogandcat.domain.pet.dto.PetResponseDto;
@@ -26,6 +27,7 @@ public class ChatRoomTagService {
 
     private final PetRepository petRepository;
     private final ChatRoomJpaRepository chatRoomRepository;
+    private final ChatRoomListProjection chatRoomListProjection;
     private final ChatRoomTagRepository chatRoomTagRepository;
     private final ChatRoomTagMapRepository chatRoomTagMapRepository;
 
@@ -36,7 +38,7 @@ public class ChatRoomTagService {
      */
     @Transactional
     public List<ChatRoomTagDto> addTagToChatRoom(String roomId, List<String> tags, Long userId) {
-        return tags.stream().map(tagName -> {
+        List<ChatRoomTagDto> added = tags.stream().map(tagName -> {
             if (tagName == null || tagName.trim().isEmpty()) {
                 throw new BaseException(BaseResponseStatus.ELEMENTS_IS_REQUIRED);
             }
@@ -68,6 +70,9 @@ public class ChatRoomTagService {
 
             return ChatRoomTagDto.from(tag);
         }).collect(Collectors.toList());
+
+        chatRoomRepository.findByRoomId(roomId).ifPresent(chatRoomListProjection::upsert);
+        return added;
     }
 
     /**
@@ -121,6 +126,8 @@ public class ChatRoomTagService {
         if (count == 0) {
             chatRoomTagRepository.delete(tag);
         }
+
+        chatRoomListProjection.upsert(chatRoom);
     }
 
     /**
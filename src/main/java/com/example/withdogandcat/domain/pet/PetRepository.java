@@ -3,8 +3,11 @@ package com.example.withdogandcat.domain.pet;
 import com.example.withdogandcat.domain.pet.entity.Pet;
 import com.example.withdogandcat.domain.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +16,7 @@ public interface PetRepository extends JpaRepository<Pet, Long> {
     void deleteByUser(User user);
     int countByUser(User user);
 
+    @Query("SELECT DISTINCT p FROM Pet p JOIN FETCH p.user u LEFT JOIN FETCH p.images WHERE u IN :users")
+    List<Pet> findAllWithImagesByUserIn(@Param("users") Collection<User> users);
+
 }
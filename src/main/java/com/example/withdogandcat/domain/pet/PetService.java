@@ -2,6 +2,7 @@ package com.example.withdogandcat.domain.pet;
 
 import com.example.withdogandcat.domain.Image.Image;
 import com.example.withdogandcat.domain.Image.ImageS3Service;
+import com.example.withdogandcat.domain.chat.service.MemberProfileCardLoader;
 import com.example.withdogandcat.domain.pet.dto.PetRequestDto;
 import com.example.withdogandcat.domain.pet.dto.PetResponseDto;
 import com.example.withdogandcat.domain.pet.entity.Pet;
@@ -24,6 +25,7 @@ public class PetService {
 
     private final PetRepository petRepository;
     private final ImageS3Service imageS3Service;
+    private final MemberProfileCardLoader memberProfileCardLoader;
 
     private static final int MAX_PETS_PER_USER = 10;
 
@@ -43,6 +45,7 @@ public class PetService {
         List<Image> uploadedImages = imageS3Service.uploadMultipleImagesForPet(imageFiles, pet);
         uploadedImages.forEach(pet::addImage);
         petRepository.save(pet);
+        memberProfileCardLoader.evict(user.getEmail());
         return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", PetResponseDto.from(pet));
     }
 
@@ -93,6 +96,7 @@ public class PetService {
                 petRequestDto.getPetKind(),
                 petRequestDto.getPetGender());
         Pet updatedPet = petRepository.save(pet);
+        memberProfileCardLoader.evict(currentUser.getEmail());
         return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", PetResponseDto.from(updatedPet));
     }
 
@@ -110,6 +114,7 @@ public class PetService {
 
         imageS3Service.deleteImages(pet.getImages());
         petRepository.delete(pet);
+        memberProfileCardLoader.evict(currentUser.getEmail());
         return new BaseResponse<>(BaseResponseStatus.SUCCESS, "성공", null);
     }
 
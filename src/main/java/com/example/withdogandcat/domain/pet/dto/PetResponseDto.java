@@ -4,6 +4,7 @@ import com.example.withdogandcat.domain.Image.Image;
 import com.example.withdogandcat.domain.pet.entity.Pet;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -21,6 +22,7 @@ public class PetResponseDto {
     private final List<String> imageUrls;
 
     @Builder
+    @Jacksonized
     public PetResponseDto(Long userId, Long petId, String nickname, String petName,
                           String petGender, String petKind,
                           String petInfo, List<String> imageUrls) {
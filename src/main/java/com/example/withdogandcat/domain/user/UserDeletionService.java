@@ -5,12 +5,9 @@ import com.example.withdogandcat.domain.Image.ImageRepository;
 import com.example.withdogandcat.domain.Image.ImageS3Service;
 import com.example.withdogandcat.domain.chat.entity.ChatRoomEntity;
 import com.example.withdogandcat.domain.chat.repo.ChatRoomJpaRepository;
-import com.example.withdogandcat.domain.chat.repo.ChatRoomRepository;
+import com.example.withdogandcat.domain.chat.service.ChatRoomTeardown;
 import com.example.withdogandcat.domain.chat.service.ChatMessageService;
-import com.example.withdogandcat.domain.hashtag.chattag.ChatRoomTag;
-import com.example.withdogandcat.domain.hashtag.chattag.ChatRoomTagMap;
-import com.example.withdogandcat.domain.hashtag.chattag.ChatRoomTagMapRepository;
-import com.example.withdogandcat.domain.hashtag.chattag.ChatRoomTagRepository;
+import com.example.withdogandcat.domain.chat.service.MemberProfileCardLoader;
 import com.example.withdogandcat.domain.hashtag.shoptag.ShopTag;
 import com.example.withdogandcat.domain.hashtag.shoptag.ShopTagMap;
 import com.example.withdogandcat.domain.hashtag.shoptag.ShopTagMapRepository;
@@ -44,13 +41,12 @@ public class UserDeletionService {
     private final ImageRepository imageRepository;
     private final ReviewRepository reviewRepository;
     private final ShopTagRepository shopTagRepository;
-    private final ChatRoomRepository chatRoomRepository;
     private final ChatMessageService chatMessageService;
     private final ShopTagMapRepository shopTagMapRepository;
-    private final ChatRoomTagRepository chatRoomTagRepository;
     private final ChatRoomJpaRepository chatRoomJpaRepository;
+    private final ChatRoomTeardown chatRoomTeardown;
+    private final MemberProfileCardLoader memberProfileCardLoader;
     private final RedisTemplate<String, String> redisTemplate;
-    private final ChatRoomTagMapRepository chatRoomTagMapRepository;
 
     /**
      * 회원탈퇴
@@ -92,24 +88,10 @@ public class UserDeletionService {
         chatMessageService.deleteAllMessagesByUser(userId);
 
         List<ChatRoomEntity> userChatRooms = chatRoomJpaRepository.findByCreatorId(user);
-        for (ChatRoomEntity room : userChatRooms) {
-            List<ChatRoomTagMap> tagMaps = chatRoomTagMapRepository.findByChatRoom(room);
-            for (ChatRoomTagMap tagMap : tagMaps) {
-                ChatRoomTag tag = tagMap.getChatRoomTag();
-                chatRoomTagMapRepository.delete(tagMap);
-
-                long count = chatRoomTagMapRepository.countByChatRoomTag(tag);
-                if (count == 0) {
-                    chatRoomTagRepository.delete(tag);
-                }
-            }
-
-            chatMessageService.deleteMessages(room.getRoomId());
-            chatRoomRepository.deleteRoom(room.getRoomId());
-            chatRoomJpaRepository.delete(room);
-        }
+        chatRoomTeardown.teardown(userChatRooms);
 
         redisTemplate.delete(user.getEmail());
         userRepository.delete(user);
+        memberProfileCardLoader.evict(user.getEmail());
     }
 }
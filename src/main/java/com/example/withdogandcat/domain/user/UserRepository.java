@@ -2,6 +2,8 @@ package com.example.withdogandcat.domain.user;
 
 import com.example.withdogandcat.domain.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     List<User> findAllByEmailIn(List<String> emails);
+
+    @Query("SELECT u.email, u.userId FROM User u WHERE u.email IN :emails")
+    List<Object[]> findUserIdsByEmailIn(@Param("emails") List<String> emails);
 }
@@ -0,0 +1,24 @@
+package com.example.withdogandcat.global.common;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SessionKeys {
+
+    /**
+     * 웹소켓 세션 관련 redis 키 접두사
+     * 채팅(STOMP CONNECT/DISCONNECT)에서 기록하고 로그아웃(JwtUtil)에서 함께 삭제하므로 global 에 둔다
+     */
+
+    /**
+     * session:userEmail:{sessionId} -> 세션 사용자 email
+     */
+    public static final String SESSION_USER_KEY_PREFIX = "session:userEmail:";
+
+    /**
+     * session:user:{email} -> 사용자의 세션 id 목록
+     */
+    public static final String USER_SESSIONS_KEY_PREFIX = "session:user:";
+
+}
@@ -52,6 +52,8 @@ public enum BaseResponseStatus {
     ALREADY_EXISTS(false, 4508, "이미 존재 합니다."),
     OPERATION_NOT_ALLOWED(false, 4509, "가게 주인은 리뷰 작성이 불가합니다."),
     MESSAGE_TOO_LONG(false, 4510, "메세지는 300자까지 가능합니다."),
+    CHAT_RATE_LIMITED(false, 4511, "메세지를 너무 빠르게 보내고 있습니다. 잠시 후 다시 시도해주세요."),
+    CHAT_SERVER_BUSY(false, 4512, "채팅 서버가 혼잡합니다. 잠시 후 다시 시도해주세요."),
 
     // 조회 실패 (4600번대)
     RETRIEVAL_FAILED(false, 4600, "조회에 실패하였습니다."),
@@ -1,6 +1,7 @@
 package com.example.withdogandcat.global.security.jwt;
 
 import com.example.withdogandcat.domain.user.entity.UserRole;
+import com.example.withdogandcat.global.common.SessionKeys;
 import com.example.withdogandcat.global.exception.BaseException;
 import com.example.withdogandcat.global.exception.BaseResponseStatus;
 import com.example.withdogandcat.global.security.impl.UserDetailsServiceImpl;
@@ -20,8 +21,10 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -32,6 +35,7 @@ public class JwtUtil {
     public static final String AUTHORIZATION_HEADER = "Authorization";
     public static final String AUTHORIZATION_KEY = "auth";
     public static final String REFRESH_TOKEN_HEADER = "Refresh-Token";
+    public static final String SESSION_REVOKE_CHANNEL = "chat:session:revoke";
     private final long ACCESS_EXPIRATION_TIME = 60 * 60 * 1000L;
     private final long REFRESH_EXPIRATION_TIME = 24 * 60 * 60 * 1000L;
 
@@ -66,12 +70,15 @@ public class JwtUtil {
                 .compact();
 
         redisTemplate.opsForValue().set(
-                username + "_access_jti",
+                accessJtiKey(username),
                 jti,
                 ACCESS_EXPIRATION_TIME,
                 TimeUnit.MILLISECONDS
         );
 
+        // 재로그인/토큰 재발급으로 jti 가 바뀌면 이전 토큰으로 연결된 웹소켓 세션을 끊도록 알린다
+        redisTemplate.convertAndSend(SESSION_REVOKE_CHANNEL, username);
+
         return accessToken;
     }
 
@@ -126,7 +133,7 @@ public class JwtUtil {
             String jti = claims.getId();
 
             if (!isRefreshToken) {
-                String redisJti = redisTemplate.opsForValue().get(username + "_access_jti");
+                String redisJti = redisTemplate.opsForValue().get(accessJtiKey(username));
                 if (redisJti == null || !jti.equals(redisJti)) {
                     throw new BaseException(BaseResponseStatus.INVALID_TOKEN);
                 }
@@ -171,25 +178,32 @@ public class JwtUtil {
         response.setHeader(REFRESH_TOKEN_HEADER, refreshToken);
     }
 
+    public static String accessJtiKey(String username) {
+        return username + "_access_jti";
+    }
+
     /**
      * 로그아웃
      * 레디스 데이터 삭제
+     * 웹소켓 세션 키는 사용자별 세션 목록(session:user:{email})으로 찾아서 한 번에 삭제
+     * 연결 중인 웹소켓 세션은 폐기 채널로 알려서 각 노드가 끊도록 한다
      */
     public void logout(String username) {
-        redisTemplate.delete(username + "_access_jti");
-        redisTemplate.delete(username + "_jti");
-        redisTemplate.delete(username + "_refresh");
-
-        redisTemplate.delete("active_session:" + username);
-
-        redisTemplate.delete("heartbeat:" + username);
-
-        Set<String> sessionKeys = redisTemplate.keys("session:userEmail:*");
-        for (String key : sessionKeys) {
-            if (redisTemplate.opsForValue().get(key).equals(username)) {
-                redisTemplate.delete(key);
-            }
+        List<String> keys = new ArrayList<>();
+        keys.add(accessJtiKey(username));
+        keys.add(username + "_jti");
+        keys.add(username + "_refresh");
+        keys.add("active_session:" + username);
+
+        String userSessionsKey = SessionKeys.USER_SESSIONS_KEY_PREFIX + username;
+        Set<String> sessionIds = redisTemplate.opsForSet().members(userSessionsKey);
+        if (sessionIds != null) {
+            sessionIds.forEach(sessionId -> keys.add(SessionKeys.SESSION_USER_KEY_PREFIX + sessionId));
         }
+        keys.add(userSessionsKey);
+
+        redisTemplate.delete(keys);
+        redisTemplate.convertAndSend(SESSION_REVOKE_CHANNEL, username);
     }
 
 }
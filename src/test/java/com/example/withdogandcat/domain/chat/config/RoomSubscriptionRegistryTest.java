@@ -0,0 +1,140 @@
+package com.example.withdogandcat.domain.chat.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomSubscriptionRegistryTest {
+
+    private static final String ROOM_A = RoomSubscriptionTracker.ROOM_DESTINATION_PREFIX + "a";
+    private static final String ROOM_B = RoomSubscriptionTracker.ROOM_DESTINATION_PREFIX + "b";
+
+    @Test
+    void findSubscriptionsMatchesDefaultRegistry() {
+        DefaultSubscriptionRegistry plain = new DefaultSubscriptionRegistry();
+        RoomSubscriptionRegistry room = new RoomSubscriptionRegistry(new DefaultSubscriptionRegistry());
+
+        for (SubscriptionRegistry registry : List.of(plain, room)) {
+            registry.registerSubscription(subscribe("s1", "1", ROOM_A, null));
+            registry.registerSubscription(subscribe("s1", "2", ROOM_B, null));
+            registry.registerSubscription(subscribe("s2", "1", ROOM_A, null));
+            registry.registerSubscription(subscribe("s3", "1", "/sub/chat/rooms/occupancy", null));
+        }
+
+        assertSameSubscriptions(plain, room, ROOM_A, ROOM_B, "/sub/chat/rooms/occupancy", "/sub/chat/room/none");
+    }
+
+    @Test
+    void patternSubscriptionsAreMergedWithRoomIndex() {
+        DefaultSubscriptionRegistry plain = new DefaultSubscriptionRegistry();
+        RoomSubscriptionRegistry room = new RoomSubscriptionRegistry(new DefaultSubscriptionRegistry());
+
+        for (SubscriptionRegistry registry : List.of(plain, room)) {
+            registry.registerSubscription(subscribe("s1", "1", ROOM_A, null));
+            registry.registerSubscription(subscribe("s2", "1", RoomSubscriptionTracker.ROOM_DESTINATION_PREFIX + "*", null));
+        }
+
+        assertSameSubscriptions(plain, room, ROOM_A, ROOM_B);
+
+        for (SubscriptionRegistry registry : List.of(plain, room)) {
+            registry.unregisterSubscription(unsubscribe("s2", "1"));
+        }
+
+        assertSameSubscriptions(plain, room, ROOM_A, ROOM_B);
+    }
+
+    @Test
+    void selectorSubscriptionsFollowDelegateSelectorHeader() {
+        DefaultSubscriptionRegistry plain = new DefaultSubscriptionRegistry();
+        plain.setSelectorHeaderName("filter");
+        DefaultSubscriptionRegistry configured = new DefaultSubscriptionRegistry();
+        configured.setSelectorHeaderName("filter");
+        RoomSubscriptionRegistry room = new RoomSubscriptionRegistry(RoomSubscriptionRegistryInstaller.copyOf(configured));
+
+        for (SubscriptionRegistry registry : List.of(plain, room)) {
+            registry.registerSubscription(subscribe("s1", "1", ROOM_A, "headers.type == 'TALK'"));
+            registry.registerSubscription(subscribe("s2", "1", ROOM_A, null));
+        }
+
+        assertSameSubscriptions(plain, room, ROOM_A);
+    }
+
+    @Test
+    void unregisterAllSubscriptionsRemovesSession() {
+        DefaultSubscriptionRegistry plain = new DefaultSubscriptionRegistry();
+        RoomSubscriptionRegistry room = new RoomSubscriptionRegistry(new DefaultSubscriptionRegistry());
+
+        for (SubscriptionRegistry registry : List.of(plain, room)) {
+            registry.registerSubscription(subscribe("s1", "1", ROOM_A, null));
+            registry.registerSubscription(subscribe("s1", "2", "/sub/chat/room/*", null));
+            registry.registerSubscription(subscribe("s2", "1", ROOM_A, null));
+            registry.unregisterAllSubscriptions("s1");
+        }
+
+        assertSameSubscriptions(plain, room, ROOM_A, ROOM_B);
+    }
+
+    @Test
+    void installerCopiesBrokerSettings() {
+        DefaultSubscriptionRegistry configured = new DefaultSubscriptionRegistry();
+        configured.setCacheLimit(42);
+        configured.setSelectorHeaderName(null);
+
+        DefaultSubscriptionRegistry copy = RoomSubscriptionRegistryInstaller.copyOf(configured);
+
+        assertThat(copy.getCacheLimit()).isEqualTo(42);
+        assertThat(copy.getSelectorHeaderName()).isNull();
+        assertThat(copy.getPathMatcher()).isSameAs(configured.getPathMatcher());
+    }
+
+    private static void assertSameSubscriptions(SubscriptionRegistry expected, SubscriptionRegistry actual,
+                                                String... destinations) {
+        for (String destination : destinations) {
+            Message<?> message = send(destination);
+            assertThat(normalize(actual.findSubscriptions(message)))
+                    .as(destination)
+                    .isEqualTo(normalize(expected.findSubscriptions(message)));
+        }
+    }
+
+    private static Map<String, Set<String>> normalize(MultiValueMap<String, String> subscriptions) {
+        Map<String, Set<String>> normalized = new TreeMap<>();
+        subscriptions.forEach((sessionId, subscriptionIds) -> normalized.put(sessionId, new TreeSet<>(subscriptionIds)));
+        return normalized;
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination, String selector) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        if (selector != null) {
+            accessor.setNativeHeader("filter", selector);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> unsubscribe(String sessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> send(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setNativeHeader("type", "TALK");
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+}
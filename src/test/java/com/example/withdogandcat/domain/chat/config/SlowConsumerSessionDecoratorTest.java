@@ -0,0 +1,239 @@
+package com.example.withdogandcat.domain.chat.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SlowConsumerSessionDecoratorTest {
+
+    private static final String ROOM = "/sub/chat/room/1";
+    private static final String ROOM_EVENTS = ROOM + "/events";
+
+    private final WebSocketSession delegate = mock(WebSocketSession.class);
+    private final OutboundBackpressureDecoratorFactory.Listener listener = mock(OutboundBackpressureDecoratorFactory.Listener.class);
+    private final ManualExecutor executor = new ManualExecutor();
+    private final List<String> delivered = new ArrayList<>();
+
+    SlowConsumerSessionDecoratorTest() throws Exception {
+        doAnswer(invocation -> delivered.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+                .when(delegate).sendMessage(any());
+    }
+
+    @Test
+    void framesAreDeliveredInOrderOnSendExecutor() throws Exception {
+        SlowConsumerSessionDecorator session = decorator(SlowConsumerPolicy.DROP_OLDEST, 1024);
+
+        session.sendMessage(frame(ROOM, "1"));
+        session.sendMessage(frame(ROOM, "2"));
+
+        assertThat(delivered).isEmpty();
+        assertThat(session.getBufferedFrames()).isEqualTo(2);
+
+        executor.runAll();
+
+        assertThat(delivered).containsExactly(frame(ROOM, "1").getPayload(), frame(ROOM, "2").getPayload());
+        assertThat(session.getBufferedFrames()).isZero();
+        assertThat(session.getBufferSize()).isZero();
+    }
+
+    @Test
+    void dropOldestKeepsBufferUnderLimit() throws Exception {
+        int frameSize = frame(ROOM, "1").getPayloadLength();
+        SlowConsumerSessionDecorator session = decorator(SlowConsumerPolicy.DROP_OLDEST, frameSize * 2);
+
+        session.sendMessage(frame(ROOM, "1"));
+        session.sendMessage(frame(ROOM, "2"));
+        session.sendMessage(frame(ROOM, "3"));
+        executor.runAll();
+
+        assertThat(delivered).containsExactly(frame(ROOM, "2").getPayload(), frame(ROOM, "3").getPayload());
+        assertThat(session.getDroppedFrames()).isEqualTo(1);
+        verify(listener).onDropped(SlowConsumerPolicy.DROP_OLDEST);
+    }
+
+    @Test
+    void coalesceKeepsLatestReplaceableFrameAndChatMessages() throws Exception {
+        TextMessage firstEvent = frame(ROOM_EVENTS, "typing-1");
+        TextMessage message = frame(ROOM, "hello");
+        TextMessage secondEvent = frame(ROOM_EVENTS, "typing-2");
+        int limit = message.getPayloadLength() + secondEvent.getPayloadLength();
+        SlowConsumerSessionDecorator session = decorator(SlowConsumerPolicy.COALESCE, limit);
+
+        session.sendMessage(firstEvent);
+        session.sendMessage(message);
+        session.sendMessage(secondEvent);
+        executor.runAll();
+
+        assertThat(delivered).containsExactly(message.getPayload(), secondEvent.getPayload());
+        assertThat(session.getDroppedFrames()).isEqualTo(1);
+    }
+
+    @Test
+    void coalesceDoesNotMergeChatMessages() throws Exception {
+        int frameSize = frame(ROOM, "1").getPayloadLength();
+        SlowConsumerSessionDecorator session = decorator(SlowConsumerPolicy.COALESCE, frameSize * 2);
+
+        session.sendMessage(frame(ROOM, "1"));
+        session.sendMessage(frame(ROOM, "2"));
+        session.sendMessage(frame(ROOM, "3"));
+        executor.runAll();
+
+        // 채팅방 메세지는 합치지 않고 한도를 넘은 만큼만 오래된 것부터 버린다
+        assertThat(delivered).containsExactly(frame(ROOM, "2").getPayload(), frame(ROOM, "3").getPayload());
+    }
+
+    @Test
+    void disconnectClosesSessionOnOverflow() throws Exception {
+        int frameSize = frame(ROOM, "1").getPayloadLength();
+        SlowConsumerSessionDecorator session = decorator(SlowConsumerPolicy.DISCONNECT, frameSize);
+
+        session.sendMessage(frame(ROOM, "1"));
+        session.sendMessage(frame(ROOM, "2"));
+        session.sendMessage(frame(ROOM, "3"));
+        executor.runAll();
+
+        assertThat(delivered).isEmpty();
+        assertThat(session.getBufferedFrames()).isZero();
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(listener).onTerminated("buffer-limit");
+    }
+
+    @Test
+    void failedSendTerminatesSession() throws Exception {
+        doThrow(new IOException("broken pipe")).when(delegate).sendMessage(any());
+        SlowConsumerSessionDecorator session = decorator(SlowConsumerPolicy.DROP_OLDEST, 1024);
+
+        session.sendMessage(frame(ROOM, "1"));
+        executor.runAll();
+        session.sendMessage(frame(ROOM, "2"));
+
+        assertThat(session.getBufferedFrames()).isZero();
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(listener).onTerminated("send-failed");
+    }
+
+    @Test
+    void watchdogTerminatesStuckSendAndFreesSendThread() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new IOException("interrupted", e);
+            }
+            return null;
+        }).when(delegate).sendMessage(any());
+
+        ExecutorService sendThread = Executors.newSingleThreadExecutor();
+        try {
+            SlowConsumerSessionDecorator session = new SlowConsumerSessionDecorator(
+                    delegate, sendThread, SlowConsumerPolicy.DROP_OLDEST, 50, 1024, listener);
+            session.sendMessage(frame(ROOM, "1"));
+            assertThat(sending.await(1, TimeUnit.SECONDS)).isTrue();
+
+            // 새 프레임이 들어오지 않아도 주기적인 검사에서 종료된다
+            session.checkSendTimeLimit();
+            verify(delegate, never()).close(any());
+            Thread.sleep(100);
+            session.checkSendTimeLimit();
+
+            assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+            verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+            verify(listener).onTerminated("send-time-limit");
+
+            // 송신 스레드는 인터럽트 상태를 지우고 다음 작업을 처리한다
+            Future<Boolean> next = sendThread.submit(() -> Thread.currentThread().isInterrupted());
+            assertThat(next.get(1, TimeUnit.SECONDS)).isFalse();
+        } finally {
+            sendThread.shutdownNow();
+        }
+    }
+
+    @Test
+    void drainYieldsSendThreadAfterFrameLimit() throws Exception {
+        SlowConsumerSessionDecorator session = decorator(SlowConsumerPolicy.DROP_OLDEST, 1024 * 1024);
+        for (int i = 0; i < 100; i++) {
+            session.sendMessage(frame(ROOM, String.valueOf(i)));
+        }
+
+        executor.runNext();
+
+        // 한 번에 다 보내지 않고 남은 프레임은 다시 executor 에 넣어서 다른 세션과 번갈아 보낸다
+        assertThat(delivered).hasSize(64);
+        assertThat(executor.tasks).hasSize(1);
+
+        executor.runAll();
+        assertThat(delivered).hasSize(100);
+    }
+
+    @Test
+    void releasedSessionIgnoresNewFrames() throws Exception {
+        SlowConsumerSessionDecorator session = decorator(SlowConsumerPolicy.DROP_OLDEST, 1024);
+
+        session.release();
+        session.sendMessage(frame(ROOM, "1"));
+        executor.runAll();
+
+        assertThat(delivered).isEmpty();
+        assertThat(session.getBufferedFrames()).isZero();
+    }
+
+    @Test
+    void replaceableDestinations() {
+        assertThat(SlowConsumerSessionDecorator.isReplaceable(ROOM_EVENTS)).isTrue();
+        assertThat(SlowConsumerSessionDecorator.isReplaceable("/sub/chat/rooms/occupancy")).isTrue();
+        assertThat(SlowConsumerSessionDecorator.isReplaceable("/user/queue/sub/unread")).isTrue();
+
+        assertThat(SlowConsumerSessionDecorator.isReplaceable(ROOM)).isFalse();
+        assertThat(SlowConsumerSessionDecorator.isReplaceable(null)).isFalse();
+    }
+
+    private SlowConsumerSessionDecorator decorator(SlowConsumerPolicy policy, int bufferSizeLimit) {
+        return new SlowConsumerSessionDecorator(delegate, executor, policy, 60_000, bufferSizeLimit, listener);
+    }
+
+    private static TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\nsubscription:0\n\n" + body + "\0");
+    }
+
+    /**
+     * 테스트에서 직접 실행 시점을 정하는 송신 executor
+     */
+    private static class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runNext() {
+            tasks.remove().run();
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.example.withdogandcat.domain.chat.heartbeat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HeartbeatAggregatorTest {
+
+    private static final byte[] LAST_SEEN_KEY = PresenceService.LAST_SEEN_KEY.getBytes(StandardCharsets.UTF_8);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+
+    private final HeartbeatAggregator aggregator = new HeartbeatAggregator(meterRegistry, redisTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.invokeMethod(aggregator, "init");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushWritesLastSeenWithGreaterThanZadd() {
+        aggregator.touch("a@b.com");
+        aggregator.touch("a@b.com");
+        aggregator.touch("c@d.com");
+
+        aggregator.flush();
+
+        ArgumentCaptor<RedisCallback<Long>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).execute(callback.capture());
+
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+        callback.getValue().doInRedis(connection);
+
+        // 여러 노드가 같은 사용자를 반영해도 더 늦은 시각만 남도록 GT 로 추가
+        ArgumentCaptor<Set<Tuple>> tuples = ArgumentCaptor.forClass(Set.class);
+        verify(zSetCommands).zAdd(eq(LAST_SEEN_KEY), tuples.capture(),
+                argThat(args -> args.contains(RedisZSetCommands.ZAddArgs.Flag.GT)));
+        assertThat(tuples.getValue().stream()
+                .map(tuple -> new String(tuple.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.toSet()))
+                .containsExactlyInAnyOrder("a@b.com", "c@d.com");
+        assertThat(meterRegistry.counter("chat.heartbeat.flushed").count()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedFlushIsRetriedOnNextFlush() {
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenThrow(new QueryTimeoutException("redis down"))
+                .thenReturn(1L);
+        aggregator.touch("a@b.com");
+
+        aggregator.flush();
+        aggregator.flush();
+
+        verify(redisTemplate, times(2)).execute(any(RedisCallback.class));
+        assertThat(meterRegistry.counter("chat.heartbeat.failed").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chat.heartbeat.flushed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void emptyFlushDoesNotCallRedis() {
+        aggregator.flush();
+
+        verify(redisTemplate, never()).execute(any(RedisCallback.class));
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.example.withdogandcat.domain.chat.persist;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.example.withdogandcat.domain.chat.redis.ChatMessageCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ChatArchiveTest {
+
+    private static final String ROOM = "room-1";
+    private static final String DAY = "2024-01-01T10:00";
+    private static final String NEXT_DAY = "2024-01-02T10:00";
+
+    @TempDir
+    Path archiveDir;
+
+    @SuppressWarnings("unchecked")
+    private final ChatArchive archive = new ChatArchive(new ChatMessageCodec(new ObjectMapper()), mock(RedisTemplate.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(archive, "archiveDir", archiveDir.toString());
+    }
+
+    @Test
+    void appendedMessagesAreReadBackNewestFirst() {
+        ChatMessage message = message(1, DAY);
+        message.setSender("a@b.com");
+        message.setType(MessageType.TALK);
+
+        assertThat(archive.append(ROOM, List.of(message, message(2, DAY), message(3, DAY)))).containsExactly(1L, 2L, 3L);
+
+        List<ChatMessage> found = archive.findBefore(ROOM, Long.MAX_VALUE, 10);
+        assertThat(ids(found)).containsExactly(3L, 2L, 1L);
+        ChatMessage first = found.get(2);
+        assertThat(first.getSeq()).isEqualTo(1L);
+        assertThat(first.getSender()).isEqualTo("a@b.com");
+        assertThat(first.getType()).isEqualTo(MessageType.TALK);
+        assertThat(first.getMessage()).isEqualTo("message-1");
+        assertThat(first.getSentAt()).isEqualTo(DAY);
+    }
+
+    @Test
+    void segmentAndIndexFormat() throws Exception {
+        archive.append(ROOM, List.of(message(1, DAY), message(2, DAY)));
+        archive.append(ROOM, List.of(message(3, DAY)));
+
+        Path segment = archiveDir.resolve(ROOM).resolve("20240101.seg");
+        Path index = archiveDir.resolve(ROOM).resolve("20240101.idx");
+        assertThat(segment).exists();
+
+        // 인덱스 : 블록마다 (firstId, lastId, offset) 24바이트
+        ByteBuffer entries = ByteBuffer.wrap(Files.readAllBytes(index));
+        assertThat(entries.remaining()).isEqualTo(48);
+        assertThat(entries.getLong()).isEqualTo(1L);
+        assertThat(entries.getLong()).isEqualTo(2L);
+        assertThat(entries.getLong()).isZero();
+        assertThat(entries.getLong()).isEqualTo(3L);
+        assertThat(entries.getLong()).isEqualTo(3L);
+        long secondOffset = entries.getLong();
+
+        // 블록 : [int 압축 길이][int 원본 길이][deflate 본문], 두 번째 블록은 첫 블록 바로 뒤에서 시작
+        ByteBuffer segmentBytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int firstCompressedLength = segmentBytes.getInt(0);
+        assertThat(secondOffset).isEqualTo(8L + firstCompressedLength);
+        assertThat((long) segmentBytes.capacity()).isEqualTo(secondOffset + 8 + segmentBytes.getInt((int) secondOffset));
+    }
+
+    @Test
+    void findBeforeHonorsCursorAndLimitAcrossBlocks() {
+        archive.append(ROOM, messages(1, 3, DAY));
+        archive.append(ROOM, messages(4, 6, DAY));
+
+        assertThat(ids(archive.findBefore(ROOM, 5, 3))).containsExactly(4L, 3L, 2L);
+        assertThat(ids(archive.findBefore(ROOM, 2, 10))).containsExactly(1L);
+        assertThat(archive.findBefore(ROOM, 1, 10)).isEmpty();
+    }
+
+    @Test
+    void findBeforeSpansDaySegments() {
+        archive.append(ROOM, List.of(message(1, DAY), message(2, DAY), message(3, NEXT_DAY), message(4, NEXT_DAY)));
+
+        assertThat(archiveDir.resolve(ROOM).resolve("20240101.seg")).exists();
+        assertThat(archiveDir.resolve(ROOM).resolve("20240102.seg")).exists();
+        assertThat(ids(archive.findBefore(ROOM, Long.MAX_VALUE, 3))).containsExactly(4L, 3L, 2L);
+        assertThat(ids(archive.findBefore(ROOM, 3, 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void appendIsIdempotentById() {
+        archive.append(ROOM, messages(1, 3, DAY));
+
+        // 보관 뒤 원본 삭제가 실패해서 같은 행이 다시 들어온 경우: 이미 있는 id 도 보관된 것으로 반환하고 다시 쓰지 않는다
+        assertThat(archive.append(ROOM, messages(2, 4, DAY))).containsExactly(2L, 3L, 4L);
+
+        List<Long> scanned = new ArrayList<>();
+        archive.scan(message -> scanned.add(message.getId()));
+        assertThat(scanned).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void lateMessagesBelowArchivedIdsAreKeptAndOrdered() {
+        archive.append(ROOM, List.of(message(1, DAY), message(2, DAY), message(5, DAY), message(6, DAY)));
+
+        // 다른 노드에서 늦게 저장된 메세지 (이미 보관된 최대 id 보다 작음)
+        assertThat(archive.append(ROOM, List.of(message(3, DAY), message(4, DAY)))).containsExactly(3L, 4L);
+
+        assertThat(ids(archive.findBefore(ROOM, Long.MAX_VALUE, 3))).containsExactly(6L, 5L, 4L);
+        assertThat(ids(archive.findBefore(ROOM, 5, 3))).containsExactly(4L, 3L, 2L);
+        assertThat(ids(archive.findBefore(ROOM, Long.MAX_VALUE, 10))).containsExactly(6L, 5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void concurrentAppendsWriteEachIdOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> archive.append(ROOM, messages(1, 50, DAY))));
+            }
+            for (Future<List<Long>> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).hasSize(50);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Long> scanned = new ArrayList<>();
+        archive.scan(message -> scanned.add(message.getId()));
+        assertThat(scanned).hasSize(50).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void deleteRemovesRoomArchive() {
+        archive.append(ROOM, messages(1, 3, DAY));
+
+        archive.delete(ROOM);
+
+        assertThat(archiveDir.resolve(ROOM)).doesNotExist();
+        assertThat(archive.findBefore(ROOM, Long.MAX_VALUE, 10)).isEmpty();
+    }
+
+    private static List<ChatMessage> messages(long fromId, long toId, String sentAt) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> message(id, sentAt))
+                .collect(Collectors.toList());
+    }
+
+    private static ChatMessage message(long id, String sentAt) {
+        ChatMessage message = new ChatMessage();
+        message.setId(id);
+        message.setSeq(id);
+        message.setRoomId(ROOM);
+        message.setMessage("message-" + id);
+        message.setSentAt(sentAt);
+        return message;
+    }
+
+    private static List<Long> ids(List<ChatMessage> messages) {
+        return messages.stream().map(ChatMessage::getId).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.example.withdogandcat.domain.chat.persist;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.example.withdogandcat.domain.chat.redis.ChatMessageIdGenerator;
+import com.example.withdogandcat.domain.chat.search.ChatSearchIndex;
+import com.example.withdogandcat.domain.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChatMessageBatchWriterTest {
+
+    private static final int PARAMS_PER_ROW = 7;
+
+    private final ChatArchive chatArchive = mock(ChatArchive.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ChatSearchIndex chatSearchIndex = mock(ChatSearchIndex.class);
+    private final ChatMessageDeadLetter deadLetter = mock(ChatMessageDeadLetter.class);
+    private final ChatMessageIdGenerator idGenerator = mock(ChatMessageIdGenerator.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+    private final ChatMessageBatchWriter writer = new ChatMessageBatchWriter(
+            chatArchive, jdbcTemplate, chatSearchIndex, deadLetter, idGenerator, userRepository, transactionTemplate);
+
+    /**
+     * 커밋된 INSERT 의 id (실패한 INSERT 는 남기지 않는다)
+     */
+    private final List<Long> insertedIds = new ArrayList<>();
+    private final Set<Long> violatingIds = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(writer, "retentionPerRoom", 30);
+
+        when(userRepository.findUserIdsByEmailIn(anyList()))
+                .thenReturn(Collections.singletonList(new Object[]{"a@b.com", 1L}));
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class))).thenAnswer(this::insert);
+    }
+
+    @Test
+    void writesBatchAndRunsSideEffects() {
+        int written = writer.write(List.of(pending(1, "a@b.com"), pending(2, "a@b.com")));
+
+        assertThat(written).isEqualTo(2);
+        assertThat(insertedIds).containsExactly(1L, 2L);
+        verify(idGenerator).raiseFloor(2L);
+        verify(chatSearchIndex).publish(argThat(messages -> messages.size() == 2));
+    }
+
+    @Test
+    void unknownSenderIsDeadLetteredInsteadOfDropped() {
+        PendingChatMessage unknown = pending(2, "gone@b.com");
+
+        int written = writer.write(List.of(pending(1, "a@b.com"), unknown));
+
+        assertThat(written).isEqualTo(1);
+        assertThat(insertedIds).containsExactly(1L);
+        verify(deadLetter).add(eq(List.of(unknown)), eq("sender-not-found"), isNull());
+    }
+
+    @Test
+    void sideEffectFailureDoesNotFailCommittedWrite() {
+        doThrow(new QueryTimeoutException("redis down")).when(idGenerator).raiseFloor(anyLong());
+
+        int written = writer.write(List.of(pending(1, "a@b.com")));
+
+        assertThat(written).isEqualTo(1);
+        verify(chatSearchIndex).publish(anyList());
+    }
+
+    @Test
+    void constraintViolationIsolatesOnlyViolatingRow() {
+        violatingIds.add(3L);
+        List<PendingChatMessage> batch = List.of(
+                pending(1, "a@b.com"), pending(2, "a@b.com"), pending(3, "a@b.com"), pending(4, "a@b.com"));
+
+        int written = writer.writeIsolating(batch);
+
+        assertThat(written).isEqualTo(3);
+        assertThat(insertedIds).containsExactlyInAnyOrder(1L, 2L, 4L);
+        verify(deadLetter).add(argThat(rows -> rows.size() == 1 && rows.get(0).getId() == 3L),
+                eq("constraint-violation"), any(DataIntegrityViolationException.class));
+    }
+
+    @Test
+    void duplicateOfAlreadyCommittedRowIsNotDeadLettered() {
+        violatingIds.add(2L);
+        when(jdbcTemplate.queryForList(startsWith("SELECT id FROM chat_messages"), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(2L));
+
+        int written = writer.writeIsolating(List.of(pending(1, "a@b.com"), pending(2, "a@b.com")));
+
+        assertThat(written).isEqualTo(1);
+        assertThat(insertedIds).containsExactly(1L);
+        verify(deadLetter, never()).add(anyList(), eq("constraint-violation"), any());
+    }
+
+    @Test
+    void transientFailureIsThrownToCaller() {
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThatThrownBy(() -> writer.writeIsolating(List.of(pending(1, "a@b.com"))))
+                .isInstanceOf(QueryTimeoutException.class);
+        verifyNoInteractions(idGenerator, chatSearchIndex);
+        verify(deadLetter, never()).add(anyList(), anyString(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void trimArchivesAfterCommitThenDeletesArchivedIds() {
+        List<ChatMessage> trimmed = List.of(pending(100, "a@b.com"), pending(101, "a@b.com")).stream()
+                .map(ChatMessageBatchWriterTest::toMessage)
+                .toList();
+        when(jdbcTemplate.query(startsWith("SELECT m.id"), any(RowMapper.class), any(Object[].class))).thenReturn(trimmed);
+        when(chatArchive.append("room-1", trimmed)).thenReturn(List.of(100L, 101L));
+
+        writer.write(List.of(pending(1, "a@b.com")));
+
+        InOrder inOrder = inOrder(transactionManager, chatArchive, jdbcTemplate);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(chatArchive).append("room-1", trimmed);
+        inOrder.verify(jdbcTemplate).update("DELETE FROM chat_messages WHERE room_id = ? AND id IN (?, ?)", "room-1", 100L, 101L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archiveFailureKeepsRowsAndDoesNotFailWrite() {
+        when(jdbcTemplate.query(startsWith("SELECT m.id"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(toMessage(pending(100, "a@b.com"))));
+        when(chatArchive.append(anyString(), anyList())).thenThrow(new UncheckedIOException(new IOException("disk full")));
+
+        int written = writer.write(List.of(pending(1, "a@b.com")));
+
+        assertThat(written).isEqualTo(1);
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"), any(Object[].class));
+    }
+
+    @Test
+    void rolledBackInsertIsNotArchived() {
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThatThrownBy(() -> writer.write(List.of(pending(1, "a@b.com"))))
+                .isInstanceOf(QueryTimeoutException.class);
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(chatArchive);
+    }
+
+    private Object insert(InvocationOnMock invocation) {
+        List<Object> params = params(invocation);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < params.size(); i += PARAMS_PER_ROW) {
+            ids.add((Long) params.get(i));
+        }
+
+        if (ids.stream().anyMatch(violatingIds::contains)) {
+            throw new DataIntegrityViolationException("Duplicate entry");
+        }
+        insertedIds.addAll(ids);
+        return ids.size();
+    }
+
+    /**
+     * JdbcTemplate.update(sql, args...) 의 바인딩 값
+     */
+    private static List<Object> params(InvocationOnMock invocation) {
+        Object[] arguments = invocation.getArguments();
+        if (arguments.length == 2 && arguments[1] instanceof Object[] array) {
+            return Arrays.asList(array);
+        }
+        return Arrays.asList(arguments).subList(1, arguments.length);
+    }
+
+    private static ChatMessage toMessage(PendingChatMessage pending) {
+        ChatMessage message = new ChatMessage();
+        message.setId(pending.getId());
+        message.setRoomId(pending.getRoomId());
+        message.setMessage(pending.getMessage());
+        return message;
+    }
+
+    private static PendingChatMessage pending(long id, String userEmail) {
+        ChatMessage message = new ChatMessage();
+        message.setId(id);
+        message.setSeq(id);
+        message.setType(MessageType.TALK);
+        message.setRoomId("room-1");
+        message.setMessage("message-" + id);
+        return PendingChatMessage.of(message, userEmail);
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.example.withdogandcat.domain.chat.persist;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChatMessageWriteBehindTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatMessageDeadLetter deadLetter = mock(ChatMessageDeadLetter.class);
+    private final ChatMessageBatchWriter batchWriter = mock(ChatMessageBatchWriter.class);
+    private ChatMessageWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        writeBehind = new ChatMessageWriteBehind(meterRegistry, deadLetter, batchWriter);
+        ReflectionTestUtils.setField(writeBehind, "queueCapacity", 10);
+        ReflectionTestUtils.setField(writeBehind, "batchSize", 10);
+        ReflectionTestUtils.setField(writeBehind, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(writeBehind, "retryMaxAttempts", 3);
+        ReflectionTestUtils.setField(writeBehind, "retryBackoffMs", 1L);
+        ReflectionTestUtils.setField(writeBehind, "shutdownTimeoutMs", 1000L);
+        ReflectionTestUtils.invokeMethod(writeBehind, "init");
+
+        // 워커를 멈춰서 enqueue 가 호출 스레드에서 바로 저장하도록 한다
+        ReflectionTestUtils.invokeMethod(writeBehind, "shutdown");
+    }
+
+    @Test
+    void transientFailureIsRetried() {
+        when(batchWriter.writeIsolating(anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+        when(batchWriter.excludePersisted(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        writeBehind.enqueue(message(1), "a@b.com");
+
+        verify(batchWriter, times(2)).writeIsolating(anyList());
+        verifyNoInteractions(deadLetter);
+        assertThat(meterRegistry.counter("chat.persist.retry").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chat.persist.persisted").count()).isEqualTo(1);
+    }
+
+    @Test
+    void retryExhaustedBatchIsDeadLettered() {
+        QueryTimeoutException failure = new QueryTimeoutException("timeout");
+        when(batchWriter.writeIsolating(anyList())).thenThrow(failure);
+        when(batchWriter.excludePersisted(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        writeBehind.enqueue(message(1), "a@b.com");
+
+        verify(batchWriter, times(3)).writeIsolating(anyList());
+        verify(deadLetter).add(argThat(batch -> batch.size() == 1 && batch.get(0).getId() == 1L),
+                eq("retry-exhausted"), same(failure));
+    }
+
+    @Test
+    void retrySkipsRowsAlreadyCommitted() {
+        PendingChatMessage saved = PendingChatMessage.of(message(1), "a@b.com");
+        PendingChatMessage unsaved = PendingChatMessage.of(message(2), "a@b.com");
+
+        when(batchWriter.writeIsolating(anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+        when(batchWriter.excludePersisted(anyList())).thenReturn(List.of(unsaved));
+
+        ReflectionTestUtils.invokeMethod(writeBehind, "writeWithRetry", List.of(saved, unsaved));
+
+        verify(batchWriter).writeIsolating(List.of(saved, unsaved));
+        verify(batchWriter).writeIsolating(List.of(unsaved));
+        verifyNoInteractions(deadLetter);
+    }
+
+    @Test
+    void retryContinuesWhenPersistedLookupFails() {
+        when(batchWriter.writeIsolating(anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+        when(batchWriter.excludePersisted(anyList())).thenThrow(new QueryTimeoutException("timeout"));
+
+        writeBehind.enqueue(message(1), "a@b.com");
+
+        verify(batchWriter, times(2)).writeIsolating(argThat(batch -> batch.size() == 1));
+        verifyNoInteractions(deadLetter);
+    }
+
+    private static ChatMessage message(long id) {
+        ChatMessage message = new ChatMessage();
+        message.setId(id);
+        message.setSeq(id);
+        message.setType(MessageType.TALK);
+        message.setRoomId("room-1");
+        message.setMessage("message-" + id);
+        return message;
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.example.withdogandcat.domain.chat.persist;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.example.withdogandcat.domain.chat.redis.ChatNodeIdentity;
+import com.example.withdogandcat.domain.chat.redis.ChatStreamTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChatStreamPersisterTest {
+
+    private static final String ROOM = "room-1";
+    private static final byte[] STREAM_KEY = ChatStreamTransport.streamKey(ROOM).getBytes(StandardCharsets.UTF_8);
+    private static final long CLAIM_IDLE_MS = 60_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatNodeIdentity chatNodeIdentity = mock(ChatNodeIdentity.class);
+    private final ChatStreamTransport chatStreamTransport = mock(ChatStreamTransport.class);
+    private final ChatMessageBatchWriter batchWriter = mock(ChatMessageBatchWriter.class);
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final SetOperations<String, String> setOperations = mock(SetOperations.class);
+
+    private final ChatStreamPersister persister = new ChatStreamPersister(
+            meterRegistry, chatNodeIdentity, chatStreamTransport, batchWriter, redisTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(persister, "roomsPerPoll", 100);
+        ReflectionTestUtils.setField(persister, "batchSize", 10);
+        ReflectionTestUtils.setField(persister, "claimIdleMs", CLAIM_IDLE_MS);
+        ReflectionTestUtils.invokeMethod(persister, "init");
+
+        when(chatStreamTransport.isEnabled()).thenReturn(true);
+        when(chatNodeIdentity.getNodeId()).thenReturn("node-1");
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(ChatStreamTransport.STREAMS_KEY)).thenReturn(Set.of(ROOM));
+    }
+
+    @Test
+    void reclaimedRecordsSkipPersistedRowsAndAreAcked() {
+        ByteRecord saved = record("1000-0", 1);
+        ByteRecord unsaved = record("1001-0", 2);
+        pipelineResults(pending("1000-0", "1001-0"), List.of(saved, unsaved));
+        when(batchWriter.excludePersisted(anyList())).thenAnswer(invocation -> ((List<PendingChatMessage>) invocation.getArgument(0))
+                .stream().filter(pending -> pending.getId() != 1L).toList());
+        when(batchWriter.writeIsolating(anyList())).thenReturn(1);
+
+        persister.reclaim();
+
+        verify(batchWriter).writeIsolating(argThat(batch -> batch.size() == 1 && batch.get(0).getId() == 2L));
+        verify(batchWriter, never()).write(anyList());
+        assertThat(meterRegistry.counter("chat.stream.claimed").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("chat.stream.persisted").count()).isEqualTo(1);
+
+        // 이미 저장돼 있던 레코드까지 둘 다 ACK
+        RedisStreamCommands streamCommands = runAckPipeline();
+        verify(streamCommands).xAck(STREAM_KEY, ChatStreamTransport.PERSIST_GROUP,
+                RecordId.of("1000-0"), RecordId.of("1001-0"));
+    }
+
+    @Test
+    void recordsTrimmedFromStreamAreAckedAsLost() {
+        ByteRecord claimed = record("1000-0", 1);
+        pipelineResults(pending("1000-0", "1001-0"), List.of(claimed), null);
+        when(batchWriter.excludePersisted(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(batchWriter.writeIsolating(anyList())).thenReturn(1);
+
+        persister.reclaim();
+
+        assertThat(meterRegistry.counter("chat.stream.lost").count()).isEqualTo(1);
+        verify(batchWriter).writeIsolating(argThat(batch -> batch.size() == 1 && batch.get(0).getId() == 1L));
+    }
+
+    @Test
+    void recentlyDeliveredRecordsAreNotClaimed() {
+        PendingMessages recent = new PendingMessages(ChatStreamTransport.PERSIST_GROUP, List.of(
+                new PendingMessage(RecordId.of("1000-0"), Consumer.from(ChatStreamTransport.PERSIST_GROUP, "node-2"),
+                        Duration.ofMillis(CLAIM_IDLE_MS - 1), 1)));
+        pipelineResults(recent);
+
+        persister.reclaim();
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class), isNull());
+        verifyNoInteractions(batchWriter);
+    }
+
+    @Test
+    void transientFailureLeavesRecordsPendingForNextReclaim() {
+        pipelineResults(pending("1000-0"), List.of(record("1000-0", 1)));
+        when(batchWriter.excludePersisted(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(batchWriter.writeIsolating(anyList())).thenThrow(new QueryTimeoutException("timeout"));
+
+        persister.reclaim();
+
+        assertThat(meterRegistry.counter("chat.stream.persist.failed").count()).isEqualTo(1);
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    /**
+     * pipeline(..) 호출 순서대로 채팅방별 결과 (XPENDING, XCLAIM, 잘린 레코드 XACK)
+     */
+    private void pipelineResults(Object... roomResults) {
+        var stubbing = when(redisTemplate.executePipelined(any(RedisCallback.class), isNull()));
+        for (Object result : roomResults) {
+            stubbing = stubbing.thenReturn(result != null ? List.of(result) : List.of());
+        }
+    }
+
+    /**
+     * persist 가 보낸 XACK 파이프라인을 mock 연결에 실행해서 호출된 명령 확인
+     */
+    @SuppressWarnings("unchecked")
+    private RedisStreamCommands runAckPipeline() {
+        ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).executePipelined(callback.capture());
+
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStreamCommands streamCommands = mock(RedisStreamCommands.class);
+        when(connection.streamCommands()).thenReturn(streamCommands);
+        callback.getValue().doInRedis(connection);
+        return streamCommands;
+    }
+
+    private static PendingMessages pending(String... ids) {
+        return new PendingMessages(ChatStreamTransport.PERSIST_GROUP, Arrays.stream(ids)
+                .map(id -> new PendingMessage(RecordId.of(id), Consumer.from(ChatStreamTransport.PERSIST_GROUP, "node-2"),
+                        Duration.ofMillis(CLAIM_IDLE_MS + 1), 1))
+                .toList());
+    }
+
+    private ByteRecord record(String id, long messageId) {
+        ByteRecord record = StreamRecords.rawBytes(Map.of(
+                        "m".getBytes(StandardCharsets.UTF_8), new byte[]{(byte) messageId},
+                        "u".getBytes(StandardCharsets.UTF_8), "a@b.com".getBytes(StandardCharsets.UTF_8)))
+                .withStreamKey(STREAM_KEY)
+                .withId(RecordId.of(id));
+
+        ChatMessage message = new ChatMessage();
+        message.setId(messageId);
+        message.setSeq(messageId);
+        message.setType(MessageType.TALK);
+        message.setRoomId(ROOM);
+        message.setMessage("message-" + messageId);
+        when(chatStreamTransport.decode(record)).thenReturn(message);
+        return record;
+    }
+
+}
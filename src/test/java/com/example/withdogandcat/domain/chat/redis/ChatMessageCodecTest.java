@@ -0,0 +1,154 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChatMessageCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ChatMessageCodec codec = new ChatMessageCodec(objectMapper);
+
+    @Test
+    void roundTripsAllFields() {
+        ChatMessage message = message(42L, 7L, MessageType.TALK, "room-1", "a@b.com", "hello", "2024-01-01T10:00", "node-1");
+
+        ChatMessage decoded = codec.deserialize(codec.serialize(message));
+
+        assertSameMessage(decoded, message);
+    }
+
+    @Test
+    void roundTripsNullFields() {
+        ChatMessage message = message(null, null, null, null, null, null, null, null);
+
+        ChatMessage decoded = codec.deserialize(codec.serialize(message));
+
+        assertSameMessage(decoded, message);
+    }
+
+    @Test
+    void roundTripsUnicodeAndEmptyStrings() {
+        String longText = "긴 메세지 🐶🐱 ".repeat(40);
+        ChatMessage message = message(1L, 1L, MessageType.ENTER, "방-1", "강아지@고양이.kr", longText, "", "노드");
+
+        ChatMessage decoded = codec.deserialize(codec.serialize(message));
+
+        assertSameMessage(decoded, message);
+        assertThat(decoded.getSentAt()).isEmpty();
+    }
+
+    @Test
+    void writesSeqAtFixedOffset() {
+        byte[] encoded = codec.serialize(message(1L, 0x0102030405060708L, MessageType.TALK, "r", "s", "m", null, null));
+
+        assertThat(encoded[0]).isEqualTo(ChatMessageCodec.MAGIC);
+        assertThat(encoded[1]).isEqualTo(ChatMessageCodec.VERSION);
+        assertThat(ByteBuffer.wrap(encoded, ChatMessageCodec.SEQ_OFFSET, 8).getLong()).isEqualTo(0x0102030405060708L);
+    }
+
+    @Test
+    void readsVersionOneWithoutSeq() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(ChatMessageCodec.MAGIC);
+        out.write(1);
+        out.writeBytes(ByteBuffer.allocate(8).putLong(99L).array());
+        out.write(MessageType.QUIT.ordinal() + 1);
+        writeString(out, "room-1");
+        writeString(out, "a@b.com");
+        writeString(out, "bye");
+        writeString(out, null);
+        writeString(out, "node-1");
+
+        ChatMessage decoded = codec.deserialize(out.toByteArray());
+
+        assertThat(decoded.getId()).isEqualTo(99L);
+        assertThat(decoded.getSeq()).isNull();
+        assertThat(decoded.getType()).isEqualTo(MessageType.QUIT);
+        assertThat(decoded.getRoomId()).isEqualTo("room-1");
+        assertThat(decoded.getSender()).isEqualTo("a@b.com");
+        assertThat(decoded.getMessage()).isEqualTo("bye");
+        assertThat(decoded.getSentAt()).isNull();
+        assertThat(decoded.getOriginNodeId()).isEqualTo("node-1");
+    }
+
+    @Test
+    void readsLegacyJson() throws Exception {
+        ChatMessage message = message(5L, 3L, MessageType.TALK, "room-1", "a@b.com", "안녕", "2024-01-01T10:00", null);
+
+        ChatMessage decoded = codec.deserialize(objectMapper.writeValueAsBytes(message));
+
+        assertSameMessage(decoded, message);
+    }
+
+    @Test
+    void emptyInputIsNull() {
+        assertThat(codec.deserialize(null)).isNull();
+        assertThat(codec.deserialize(new byte[0])).isNull();
+        assertThat(codec.serialize(null)).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownFormatAndVersion() {
+        assertThatThrownBy(() -> codec.deserialize(new byte[]{1, 2, 3}))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> codec.deserialize(new byte[]{ChatMessageCodec.MAGIC, 9}))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void rejectsTruncatedInput() {
+        byte[] encoded = codec.serialize(message(1L, 1L, MessageType.TALK, "room-1", "a@b.com", "hello", null, null));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+
+        assertThatThrownBy(() -> codec.deserialize(truncated))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private static ChatMessage message(Long id, Long seq, MessageType type, String roomId, String sender,
+                                       String text, String sentAt, String originNodeId) {
+        ChatMessage message = new ChatMessage();
+        message.setId(id);
+        message.setSeq(seq);
+        message.setType(type);
+        message.setRoomId(roomId);
+        message.setSender(sender);
+        message.setMessage(text);
+        message.setSentAt(sentAt);
+        message.setOriginNodeId(originNodeId);
+        return message;
+    }
+
+    private static void assertSameMessage(ChatMessage actual, ChatMessage expected) {
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    /**
+     * 코덱 문자열 필드 (varint 길이 + 1, 0 이면 null) + UTF-8
+     */
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            out.write(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length + 1;
+        while ((length & ~0x7F) != 0) {
+            out.write((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.write(length);
+        out.writeBytes(bytes);
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ChatRateLimiterLeaseTest {
+
+    @Test
+    void grantedLeaseIsConsumedLocallyUntilEmpty() {
+        ChatRateLimiter.Lease lease = ChatRateLimiter.Lease.granted(2, 1000);
+
+        assertThat(lease.tryConsume(100)).isTrue();
+        assertThat(lease.tryConsume(200)).isTrue();
+        assertThat(lease.tryConsume(300)).isNull();
+    }
+
+    @Test
+    void grantedLeaseExpires() {
+        ChatRateLimiter.Lease lease = ChatRateLimiter.Lease.granted(5, 1000);
+
+        assertThat(lease.isExpired(999)).isFalse();
+        assertThat(lease.isExpired(1000)).isTrue();
+        assertThat(lease.tryConsume(1000)).isNull();
+    }
+
+    @Test
+    void deniedLeaseRejectsLocallyUntilRetryTime() {
+        ChatRateLimiter.Lease lease = ChatRateLimiter.Lease.denied(500);
+
+        assertThat(lease.tryConsume(0)).isFalse();
+        assertThat(lease.tryConsume(499)).isFalse();
+        assertThat(lease.tryConsume(500)).isNull();
+    }
+
+    @Test
+    void emptyGrantFallsBackToRedis() {
+        ChatRateLimiter.Lease lease = ChatRateLimiter.Lease.granted(0, 1000);
+
+        assertThat(lease.tryConsume(0)).isNull();
+    }
+
+    @Test
+    void unusedTokensAreDrainedOnlyOnce() {
+        ChatRateLimiter.Lease lease = ChatRateLimiter.Lease.granted(2, 1000);
+        lease.tryConsume(0);
+
+        assertThat(lease.drain()).isEqualTo(1);
+        assertThat(lease.drain()).isZero();
+        assertThat(lease.tryConsume(0)).isNull();
+        assertThat(ChatRateLimiter.Lease.denied(500).drain()).isZero();
+    }
+
+    @Test
+    void expiredLeaseReturnsUnusedTokensOnNextAcquire() throws Exception {
+        List<Object[]> calls = new ArrayList<>();
+        ChatRateLimiter limiter = limiter(calls, 20);
+
+        limiter.acquire("a@b.com", "room-1");
+        Thread.sleep(30);
+        limiter.acquire("a@b.com", "room-1");
+
+        // 3개를 받아 1개만 쓰고 만료 -> 다음 요청에서 2개 반환
+        assertThat(calls).hasSize(2);
+        assertThat(lastArg(calls.get(0))).isEqualTo("0");
+        assertThat(lastArg(calls.get(1))).isEqualTo("2");
+    }
+
+    @Test
+    void expiredLeasesAreRefundedInOneCall() throws Exception {
+        List<Object[]> calls = new ArrayList<>();
+        ChatRateLimiter limiter = limiter(calls, 20);
+
+        limiter.acquire("a@b.com", "room-1");
+        limiter.acquire("a@b.com", "room-1");
+        limiter.acquire("c@d.com", "room-1");
+        Thread.sleep(30);
+        limiter.refundExpiredLeases();
+
+        assertThat(calls).hasSize(3);
+        Object[] refund = calls.get(2);
+        assertThat((List<?>) refund[1]).containsExactlyInAnyOrder(
+                "chat:rate:user:a@b.com", "chat:rate:room:room-1", "chat:rate:user:c@d.com", "chat:rate:room:room-1");
+        assertThat(Arrays.asList(refund).subList(7, refund.length)).containsExactlyInAnyOrder("1", "2");
+
+        // 이미 돌려준 묶음은 다시 돌려주지 않는다
+        limiter.refundExpiredLeases();
+        assertThat(calls).hasSize(3);
+    }
+
+    /**
+     * Redis 는 항상 3개를 내주는 것으로 보고 호출 인자를 기록 (인자: 스크립트, KEYS, ARGV...)
+     */
+    @SuppressWarnings("unchecked")
+    private static ChatRateLimiter limiter(List<Object[]> calls, long leaseTtlMs) {
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class, invocation -> {
+            calls.add(invocation.getArguments());
+            return List.of(3L, 0L);
+        });
+
+        ChatRateLimiter limiter = new ChatRateLimiter(new SimpleMeterRegistry(), redisTemplate);
+        ReflectionTestUtils.setField(limiter, "userRate", 2.0);
+        ReflectionTestUtils.setField(limiter, "userBurst", 5);
+        ReflectionTestUtils.setField(limiter, "roomRate", 30.0);
+        ReflectionTestUtils.setField(limiter, "roomBurst", 60);
+        ReflectionTestUtils.setField(limiter, "leaseSize", 3);
+        ReflectionTestUtils.setField(limiter, "leaseTtlMs", leaseTtlMs);
+        ReflectionTestUtils.invokeMethod(limiter, "init");
+        return limiter;
+    }
+
+    private static Object lastArg(Object[] arguments) {
+        return arguments[arguments.length - 1];
+    }
+
+}
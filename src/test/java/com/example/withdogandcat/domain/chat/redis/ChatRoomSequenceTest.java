@@ -0,0 +1,59 @@
+package com.example.withdogandcat.domain.chat.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ChatRoomSequenceTest {
+
+    private static final String ROOM = "room-1";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    private final ChatRoomSequence chatRoomSequence = new ChatRoomSequence(jdbcTemplate, redisTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(chatRoomSequence, "reseedGap", 1000L);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void lostCounterIsReseededAboveStoredMaxSeq() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(ROOM))).thenReturn(42L);
+
+        chatRoomSequence.reseed(ROOM);
+
+        verify(valueOperations).setIfAbsent(RecentMessageBuffer.seqKey(ROOM), "1042");
+    }
+
+    @Test
+    void newRoomStartsFromZero() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(ROOM))).thenReturn(0L);
+
+        chatRoomSequence.reseed(ROOM);
+
+        verify(valueOperations).setIfAbsent(RecentMessageBuffer.seqKey(ROOM), "0");
+    }
+
+    @Test
+    void currentIsZeroWithoutCounter() {
+        when(valueOperations.get(RecentMessageBuffer.seqKey(ROOM))).thenReturn(null, "7");
+
+        assertThat(chatRoomSequence.current(ROOM)).isZero();
+        assertThat(chatRoomSequence.current(ROOM)).isEqualTo(7L);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.example.withdogandcat.domain.chat.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenizerTest {
+
+    @Test
+    void splitsWordsIntoBigrams() {
+        assertThat(Tokenizer.tokenize("강아지 산책")).containsExactly("강아", "아지", "산책");
+    }
+
+    @Test
+    void keepsSingleCharacterWords() {
+        assertThat(Tokenizer.tokenize("개 와 cat")).containsExactly("개", "와", "ca", "at");
+    }
+
+    @Test
+    void lowercasesAndSplitsOnPunctuation() {
+        assertThat(Tokenizer.tokenize("Hi!! DOG,2024")).containsExactly("hi", "do", "og", "20", "02", "24");
+    }
+
+    @Test
+    void handlesSupplementaryCodePoints() {
+        assertThat(Tokenizer.tokenize("𠀀𠀁𠀂")).containsExactly("𠀀𠀁", "𠀁𠀂");
+        assertThat(Tokenizer.tokenize("🐶🐱")).isEmpty();
+    }
+
+    @Test
+    void emptyAndNullTextHaveNoTokens() {
+        assertThat(Tokenizer.tokenize(null)).isEmpty();
+        assertThat(Tokenizer.tokenize("")).isEmpty();
+        assertThat(Tokenizer.tokenize("  ...  ")).isEmpty();
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import com.example.withdogandcat.domain.chat.dto.ChatMessagePageDto;
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import com.example.withdogandcat.domain.chat.entity.ChatMessageEntity;
+import com.example.withdogandcat.domain.chat.entity.MessageType;
+import com.example.withdogandcat.domain.chat.persist.ChatArchive;
+import com.example.withdogandcat.domain.chat.persist.ChatMessageWriteBehind;
+import com.example.withdogandcat.domain.chat.redis.ChatMessageIdGenerator;
+import com.example.withdogandcat.domain.chat.redis.ChatRoomSequence;
+import com.example.withdogandcat.domain.chat.redis.ChatStreamTransport;
+import com.example.withdogandcat.domain.chat.redis.ReadCursorStore;
+import com.example.withdogandcat.domain.chat.redis.RecentMessageBuffer;
+import com.example.withdogandcat.domain.chat.repo.ChatMessageJpaRepository;
+import com.example.withdogandcat.domain.chat.search.ChatSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChatMessageServiceSinceTest {
+
+    private static final String ROOM = "room-1";
+
+    private final ChatRoomSequence chatRoomSequence = mock(ChatRoomSequence.class);
+    private final RecentMessageBuffer recentMessageBuffer = mock(RecentMessageBuffer.class);
+    private final ChatStreamTransport chatStreamTransport = mock(ChatStreamTransport.class);
+    private final ChatMessageJpaRepository chatMessageJpaRepository = mock(ChatMessageJpaRepository.class);
+
+    private final ChatMessageService chatMessageService = new ChatMessageService(
+            mock(ChatArchive.class), mock(ChatSearchIndex.class), mock(UnreadNotifier.class), mock(ReadCursorStore.class),
+            chatRoomSequence, recentMessageBuffer, chatStreamTransport, mock(ChatMessageIdGenerator.class),
+            mock(ChatMessageWriteBehind.class), chatMessageJpaRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(recentMessageBuffer.findAll(ROOM)).thenReturn(Collections.emptyList());
+        when(chatMessageJpaRepository.findSince(eq(ROOM), anyLong(), any(Pageable.class))).thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    void bufferCoveringSinceIsReturnedWithoutReset() {
+        when(chatRoomSequence.current(ROOM)).thenReturn(15L);
+        when(recentMessageBuffer.findAll(ROOM)).thenReturn(messages(6, 15));
+
+        ChatMessagePageDto page = since(10, 50);
+
+        assertThat(seqs(page)).containsExactly(11L, 12L, 13L, 14L, 15L);
+        assertThat(page.isReset()).isFalse();
+        assertThat(page.getNextCursor()).isEqualTo(15L);
+        verifyNoInteractions(chatMessageJpaRepository);
+    }
+
+    @Test
+    void storedMessagesContinueIntoBuffer() {
+        when(chatRoomSequence.current(ROOM)).thenReturn(30L);
+        when(chatMessageJpaRepository.findSince(eq(ROOM), eq(5L), any(Pageable.class))).thenReturn(entities(6, 12));
+        when(recentMessageBuffer.findAll(ROOM)).thenReturn(messages(11, 30));
+
+        ChatMessagePageDto page = since(5, 50);
+
+        assertThat(seqs(page)).isEqualTo(LongStream.rangeClosed(6, 30).boxed().toList());
+        assertThat(page.isReset()).isFalse();
+    }
+
+    @Test
+    void trimmedMessagesAfterSinceRequireReset() {
+        // MySQL 에는 최근 메세지만 남아 있고 since 다음 순번(6~69)은 아카이브로 옮겨짐
+        when(chatRoomSequence.current(ROOM)).thenReturn(100L);
+        when(chatMessageJpaRepository.findSince(eq(ROOM), eq(5L), any(Pageable.class))).thenReturn(entities(70, 99));
+        when(recentMessageBuffer.findAll(ROOM)).thenReturn(messages(81, 100));
+
+        assertThat(since(5, 100).isReset()).isTrue();
+    }
+
+    @Test
+    void unsavedMessagesMissingFromBufferRequireReset() {
+        // 13~20 은 아직 write-behind 대기 중이라 MySQL 에 없고, 버퍼에서도 밀려남
+        when(chatRoomSequence.current(ROOM)).thenReturn(40L);
+        when(chatMessageJpaRepository.findSince(eq(ROOM), eq(5L), any(Pageable.class))).thenReturn(entities(6, 12));
+        when(recentMessageBuffer.findAll(ROOM)).thenReturn(messages(21, 40));
+
+        ChatMessagePageDto page = since(5, 100);
+
+        assertThat(page.isReset()).isTrue();
+        assertThat(seqs(page)).doesNotContain(13L, 20L);
+    }
+
+    @Test
+    void emptyPageBehindIssuedSeqRequiresReset() {
+        when(chatRoomSequence.current(ROOM)).thenReturn(8L);
+
+        ChatMessagePageDto page = since(5, 10);
+
+        assertThat(page.getMessages()).isEmpty();
+        assertThat(page.isReset()).isTrue();
+    }
+
+    @Test
+    void upToDateClientGetsEmptyPageWithoutReset() {
+        when(chatRoomSequence.current(ROOM)).thenReturn(5L);
+        when(recentMessageBuffer.findAll(ROOM)).thenReturn(messages(1, 5));
+
+        ChatMessagePageDto page = since(5, 10);
+
+        assertThat(page.getMessages()).isEmpty();
+        assertThat(page.isReset()).isFalse();
+        assertThat(page.getNextCursor()).isEqualTo(5L);
+    }
+
+    @Test
+    void reseededCounterBelowSinceRequiresReset() {
+        when(chatRoomSequence.current(ROOM)).thenReturn(2L);
+        when(recentMessageBuffer.findAll(ROOM)).thenReturn(messages(1, 2));
+
+        assertThat(since(5, 10).isReset()).isTrue();
+    }
+
+    @Test
+    void messageIssuedDuringQueryDoesNotCauseReset() {
+        // 순번을 읽은 뒤에 16 이 발급되어 버퍼에 들어옴
+        when(chatRoomSequence.current(ROOM)).thenReturn(15L);
+        when(recentMessageBuffer.findAll(ROOM)).thenReturn(messages(6, 16));
+
+        ChatMessagePageDto page = since(10, 50);
+
+        assertThat(seqs(page)).containsExactly(11L, 12L, 13L, 14L, 15L, 16L);
+        assertThat(page.isReset()).isFalse();
+    }
+
+    @Test
+    void fullContiguousPageHasNextWithoutReset() {
+        when(chatRoomSequence.current(ROOM)).thenReturn(100L);
+        when(chatMessageJpaRepository.findSince(eq(ROOM), eq(5L), any(Pageable.class))).thenReturn(entities(6, 16));
+        when(recentMessageBuffer.findAll(ROOM)).thenReturn(messages(81, 100));
+
+        ChatMessagePageDto page = since(5, 10);
+
+        assertThat(seqs(page)).isEqualTo(LongStream.rangeClosed(6, 15).boxed().toList());
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.isReset()).isFalse();
+    }
+
+    private ChatMessagePageDto since(long since, int limit) {
+        return chatMessageService.getMessagesSince(ROOM, since, limit).getResult();
+    }
+
+    private static List<Long> seqs(ChatMessagePageDto page) {
+        return page.getMessages().stream().map(ChatMessage::getSeq).collect(Collectors.toList());
+    }
+
+    private static List<ChatMessage> messages(long fromSeq, long toSeq) {
+        return LongStream.rangeClosed(fromSeq, toSeq)
+                .mapToObj(seq -> {
+                    ChatMessage message = new ChatMessage();
+                    message.setId(1000 + seq);
+                    message.setSeq(seq);
+                    message.setType(MessageType.TALK);
+                    message.setRoomId(ROOM);
+                    message.setMessage("message-" + seq);
+                    return message;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static List<ChatMessageEntity> entities(long fromSeq, long toSeq) {
+        return LongStream.rangeClosed(fromSeq, toSeq)
+                .mapToObj(seq -> ChatMessageEntity.builder()
+                        .id(1000 + seq)
+                        .seq(seq)
+                        .type(MessageType.TALK)
+                        .roomId(ROOM)
+                        .message("message-" + seq)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+}
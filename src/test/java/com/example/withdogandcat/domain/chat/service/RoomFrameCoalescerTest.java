@@ -0,0 +1,159 @@
+package com.example.withdogandcat.domain.chat.service;
+
+import com.example.withdogandcat.domain.chat.entity.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RoomFrameCoalescerTest {
+
+    private static final String ROOM = "/sub/chat/room/1";
+    private static final Map<String, Object> BATCH_HEADERS =
+            Map.of(RoomFrameCoalescer.CONTENT_SHAPE_HEADER, RoomFrameCoalescer.BATCH_CONTENT_SHAPE);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SimpMessageSendingOperations messagingTemplate = mock(SimpMessageSendingOperations.class);
+    private RoomFrameCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            ReflectionTestUtils.invokeMethod(coalescer, "shutdown");
+        }
+    }
+
+    @Test
+    void windowIsTimeToCollectTargetBatchClampedToLimits() {
+        coalescer = coalescer(20, 10, 50, 5, 50);
+
+        // 10건 / 초당 1000건 = 10ms
+        assertThat(coalescer.windowMs(1000)).isEqualTo(10);
+        // 10건 / 초당 100건 = 100ms -> max-window-ms
+        assertThat(coalescer.windowMs(100)).isEqualTo(50);
+        // 10건 / 초당 10000건 = 1ms -> min-window-ms
+        assertThat(coalescer.windowMs(10_000)).isEqualTo(5);
+        // 비율이 0 이어도 초당 1건으로 보고 계산
+        assertThat(coalescer.windowMs(0)).isEqualTo(50);
+    }
+
+    @Test
+    void quietRoomIsSentImmediately() {
+        coalescer = coalescer(20, 10, 50, 5, 50);
+        ChatMessage first = message(1);
+        ChatMessage second = message(2);
+
+        coalescer.submit(ROOM, first);
+        coalescer.submit(ROOM, second);
+
+        verify(messagingTemplate).convertAndSend(ROOM, first);
+        verify(messagingTemplate).convertAndSend(ROOM, second);
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class), anyMap());
+        assertThat(meterRegistry.counter("chat.coalesce.frames", "mode", "immediate").count()).isEqualTo(2);
+    }
+
+    @Test
+    void busyRoomIsSentAsOneBatchAfterWindow() {
+        coalescer = coalescer(1, 10, 50, 20, 20);
+        List<ChatMessage> messages = List.of(message(1), message(2), message(3));
+
+        messages.forEach(message -> coalescer.submit(ROOM, message));
+
+        verifyNoInteractions(messagingTemplate);
+        verify(messagingTemplate, timeout(1000)).convertAndSend(ROOM, messages, BATCH_HEADERS);
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+
+        // 진행 중인 flush 가 끝날 때까지 기다린 뒤 메트릭 확인
+        ReflectionTestUtils.invokeMethod(coalescer, "shutdown");
+        coalescer = null;
+        assertThat(meterRegistry.summary("chat.coalesce.batch.size").totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForWindow() {
+        coalescer = coalescer(1, 2, 3, 10_000, 10_000);
+        List<ChatMessage> messages = List.of(message(1), message(2), message(3));
+
+        messages.forEach(message -> coalescer.submit(ROOM, message));
+
+        verify(messagingTemplate).convertAndSend(ROOM, messages, BATCH_HEADERS);
+
+        // 다음 메세지는 새 묶음에서 모은다
+        coalescer.submit(ROOM, message(4));
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    void roomsAreBatchedSeparately() {
+        coalescer = coalescer(1, 10, 3, 10_000, 10_000);
+        String otherRoom = "/sub/chat/room/2";
+
+        coalescer.submit(ROOM, message(1));
+        coalescer.submit(otherRoom, message(2));
+        coalescer.submit(ROOM, message(3));
+        coalescer.submit(otherRoom, message(4));
+
+        verifyNoInteractions(messagingTemplate);
+
+        ReflectionTestUtils.invokeMethod(coalescer, "shutdown");
+        coalescer = null;
+
+        verify(messagingTemplate).convertAndSend(eq(ROOM), argThat(ids(1, 3)), eq(BATCH_HEADERS));
+        verify(messagingTemplate).convertAndSend(eq(otherRoom), argThat(ids(2, 4)), eq(BATCH_HEADERS));
+    }
+
+    @Test
+    void shutdownFlushesPendingBatch() {
+        coalescer = coalescer(1, 10, 50, 10_000, 10_000);
+        ChatMessage message = message(1);
+
+        coalescer.submit(ROOM, message);
+        verifyNoInteractions(messagingTemplate);
+
+        ReflectionTestUtils.invokeMethod(coalescer, "shutdown");
+        coalescer = null;
+
+        verify(messagingTemplate).convertAndSend(ROOM, List.of(message), BATCH_HEADERS);
+    }
+
+    private RoomFrameCoalescer coalescer(double minRatePerSecond, int targetBatch, int maxBatch,
+                                         long minWindowMs, long maxWindowMs) {
+        RoomFrameCoalescer coalescer = new RoomFrameCoalescer(meterRegistry, messagingTemplate);
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "minRatePerSecond", minRatePerSecond);
+        ReflectionTestUtils.setField(coalescer, "targetBatch", targetBatch);
+        ReflectionTestUtils.setField(coalescer, "maxBatch", maxBatch);
+        ReflectionTestUtils.setField(coalescer, "minWindowMs", minWindowMs);
+        ReflectionTestUtils.setField(coalescer, "maxWindowMs", maxWindowMs);
+        ReflectionTestUtils.invokeMethod(coalescer, "init");
+        return coalescer;
+    }
+
+    private static ChatMessage message(long id) {
+        ChatMessage message = new ChatMessage();
+        message.setId(id);
+        message.setRoomId("1");
+        message.setMessage("message-" + id);
+        return message;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentMatcher<Object> ids(long... ids) {
+        return argument -> argument instanceof List<?> batch
+                && ((List<ChatMessage>) batch).stream().mapToLong(ChatMessage::getId).boxed().toList()
+                .equals(Arrays.stream(ids).boxed().toList());
+    }
+
+}